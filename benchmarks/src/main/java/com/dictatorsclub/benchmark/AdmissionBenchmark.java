@@ -0,0 +1,107 @@
+package com.dictatorsclub.benchmark;
+
+import com.dictatorsclub.config.TokenBucket;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the admission check under contention: all threads drawing from one hot bucket (one user
+ * hammering the API), the same with a synchronized bucket for comparison, uncontended buckets, and the
+ * per-caller bucket lookup the rate limit filter does on every request.
+ * Run with -t to vary the thread count.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class AdmissionBenchmark {
+
+    // High enough that requests are granted; rejected calls return before the compare-and-set
+    @Param({"1000000000", "1000"})
+    double rate;
+
+    @Param({"10000"})
+    int callers;
+
+    TokenBucket shared;
+    SynchronizedBucket sharedSynchronized;
+    Cache<String, TokenBucket> buckets;
+    String[] keys;
+
+    @State(Scope.Thread)
+    public static class ThreadBucket {
+        TokenBucket bucket;
+
+        @Setup
+        public void setUp(AdmissionBenchmark benchmark) {
+            bucket = new TokenBucket(benchmark.rate, 100, System.nanoTime());
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        long now = System.nanoTime();
+        shared = new TokenBucket(rate, 100, now);
+        sharedSynchronized = new SynchronizedBucket(rate, 100, now);
+        buckets = Caffeine.newBuilder().maximumSize(100_000).expireAfterAccess(Duration.ofMinutes(1))
+            .build();
+        keys = new String[callers];
+        for (int i = 0; i < callers; i++) {
+            keys[i] = "user:" + Fixtures.username(i);
+        }
+    }
+
+    @Benchmark
+    public long sharedBucket() {
+        return shared.tryAcquire(System.nanoTime());
+    }
+
+    @Benchmark
+    public long sharedSynchronizedBucket() {
+        return sharedSynchronized.tryAcquire(System.nanoTime());
+    }
+
+    @Benchmark
+    public long threadBucket(ThreadBucket state) {
+        return state.bucket.tryAcquire(System.nanoTime());
+    }
+
+    // What RateLimitFilter pays per request: find or create the caller's bucket, then take a token
+    @Benchmark
+    public long callerLookup() {
+        String key = keys[ThreadLocalRandom.current().nextInt(keys.length)];
+        long now = System.nanoTime();
+        return buckets.get(key, k -> new TokenBucket(rate, 100, now)).tryAcquire(now);
+    }
+
+    // Same algorithm as TokenBucket guarded by a monitor
+    static final class SynchronizedBucket {
+        private final long nanosPerToken;
+        private final long burstNanos;
+        private long fullAt;
+
+        SynchronizedBucket(double tokensPerSecond, int burst, long nowNanos) {
+            this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+            this.burstNanos = nanosPerToken * burst;
+            this.fullAt = nowNanos;
+        }
+
+        synchronized long tryAcquire(long nowNanos) {
+            long next = Math.max(fullAt, nowNanos) + nanosPerToken;
+            long debt = next - nowNanos;
+            if (debt > burstNanos) {
+                return debt - burstNanos;
+            }
+            fullAt = next;
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.dictatorsclub.benchmark;
+
+import com.dictatorsclub.model.Dictator;
+import com.dictatorsclub.repository.DictatorRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One saveAll of a batch of new dictators with cascaded achievements, i.e. what the sample-data
+ * endpoint does. Tables are emptied after every iteration so the database size stays flat.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkSaveBenchmark {
+
+    @Param({"100", "1000"})
+    int batchSize;
+
+    @Param({"0", "10"})
+    int achievementsPerDictator;
+
+    ConfigurableApplicationContext context;
+    DictatorRepository dictatorRepository;
+    JdbcTemplate jdbcTemplate;
+    List<Dictator> batch;
+    int next;
+
+    @Setup
+    public void setUp() {
+        context = JpaContext.start();
+        dictatorRepository = context.getBean(DictatorRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareBatch() {
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(Fixtures.dictator(Fixtures.username(next++), achievementsPerDictator));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("DELETE FROM achievements");
+        jdbcTemplate.execute("DELETE FROM dictators");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Dictator> saveAll() {
+        return dictatorRepository.saveAll(batch);
+    }
+}
@@ -0,0 +1,30 @@
+package com.dictatorsclub.benchmark;
+
+import com.dictatorsclub.model.Achievement;
+import com.dictatorsclub.model.Dictator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class Fixtures {
+
+    private static final String DESCRIPTION = "Ruled with an iron fist and an unusually large collection of hats. ".repeat(8);
+
+    private Fixtures() {
+    }
+
+    static String username(int index) {
+        return "bench" + index;
+    }
+
+    static Dictator dictator(String username, int achievements) {
+        Dictator dictator = new Dictator(username, "Dictator " + username, "Country " + (username.hashCode() & 63),
+            DESCRIPTION, "1920-1950");
+        List<Achievement> list = new ArrayList<>(achievements);
+        for (int i = 0; i < achievements; i++) {
+            list.add(new Achievement("Achievement " + i, DESCRIPTION, 1900 + i % 100, dictator));
+        }
+        dictator.setAchievements(list);
+        return dictator;
+    }
+}
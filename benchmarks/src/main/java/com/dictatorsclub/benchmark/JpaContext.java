@@ -0,0 +1,39 @@
+package com.dictatorsclub.benchmark;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Persistence layer of the service on its own: entities, repositories and the service's JPA settings
+ * from application.yml, without the web, security or cache layers.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan("com.dictatorsclub.model")
+@EnableJpaRepositories("com.dictatorsclub.repository")
+class JpaContext {
+
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        // Passed as arguments so they override the service's application.yml
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+            "--spring.jpa.show-sql=false",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN",
+            "--logging.level.com.dictatorsclub=WARN",
+            "--logging.level.org.springframework.security=WARN"));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(JpaContext.class)
+            .web(WebApplicationType.NONE)
+            .run(args.toArray(String[]::new));
+    }
+}
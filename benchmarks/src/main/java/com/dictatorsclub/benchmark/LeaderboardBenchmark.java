@@ -0,0 +1,127 @@
+package com.dictatorsclub.benchmark;
+
+import com.dictatorsclub.dto.AchievementDto;
+import com.dictatorsclub.dto.DictatorDto;
+import com.dictatorsclub.dto.LeaderboardEntry;
+import com.dictatorsclub.event.AchievementChangedEvent;
+import com.dictatorsclub.event.DictatorChangedEvent;
+import com.dictatorsclub.service.LeaderboardService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Leaderboard reads and the incremental update an achievement save or delete costs, against a million
+ * achievements skewed towards a few prolific dictators. recountTop10 is the recompute-on-read
+ * alternative without the database: count a million rows and select the top ten. The mixed group
+ * reads while another thread keeps adding and removing achievements.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class LeaderboardBenchmark {
+
+    private static final int COUNTRIES = 64;
+
+    @Param({"1000000"})
+    int achievements;
+
+    @Param({"10000"})
+    int dictators;
+
+    LeaderboardService leaderboard;
+    int[] achievementDictators;
+    AtomicLong nextAchievementId;
+
+    @Setup
+    public void setUp() {
+        leaderboard = new LeaderboardService(200);
+        for (long id = 1; id <= dictators; id++) {
+            leaderboard.onDictatorChanged(DictatorChangedEvent.saved(true, new DictatorDto(id, Fixtures.username((int) id),
+                "Dictator " + id, country(id), null, null, null, null, null)));
+        }
+        achievementDictators = new int[achievements];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < achievements; i++) {
+            // Cubing a uniform draw gives a long tail: a few dictators own most of the achievements
+            double draw = random.nextDouble();
+            int dictatorId = 1 + (int) (draw * draw * draw * dictators);
+            achievementDictators[i] = dictatorId;
+            leaderboard.onAchievementChanged(saved(i + 1, dictatorId));
+        }
+        leaderboard.rebuilt();
+        nextAchievementId = new AtomicLong(achievements);
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> top10() {
+        return leaderboard.top(10, null);
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> top10InCountry() {
+        return leaderboard.top(10, country(7));
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> top100() {
+        return leaderboard.top(100, null);
+    }
+
+    // One achievement created and deleted again, so the board stays the same size across iterations
+    @Benchmark
+    public void saveAndDelete() {
+        churn();
+    }
+
+    @Benchmark
+    public long[] recountTop10() {
+        long[] counts = new long[dictators + 1];
+        for (int dictatorId : achievementDictators) {
+            counts[dictatorId]++;
+        }
+        long[] packed = new long[dictators];
+        for (int id = 1; id <= dictators; id++) {
+            packed[id - 1] = counts[id] << 32 | id;
+        }
+        Arrays.sort(packed);
+        return Arrays.copyOfRange(packed, dictators - 10, dictators);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public List<LeaderboardEntry> mixedRead() {
+        return leaderboard.top(10, null);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedWrite() {
+        churn();
+    }
+
+    private void churn() {
+        long id = nextAchievementId.incrementAndGet();
+        int dictatorId = achievementDictators[ThreadLocalRandom.current().nextInt(achievements)];
+        leaderboard.onAchievementChanged(saved(id, dictatorId));
+        leaderboard.onAchievementChanged(AchievementChangedEvent.deleted(id));
+    }
+
+    private static AchievementChangedEvent saved(long id, long dictatorId) {
+        return AchievementChangedEvent.saved(true, new AchievementDto(id, dictatorId, "Achievement " + id, null,
+            1900, null, null));
+    }
+
+    private static String country(long dictatorId) {
+        return "Country " + dictatorId % COUNTRIES;
+    }
+}
@@ -0,0 +1,101 @@
+package com.dictatorsclub.benchmark;
+
+import com.dictatorsclub.dto.ResourceVersion;
+import com.dictatorsclub.model.Achievement;
+import com.dictatorsclub.repository.AchievementRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-dictator and keyset lookups on the schema built by the Flyway migrations, at growing table
+ * sizes. With the achievements indexes in place the scores should stay flat across sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class LookupScalingBenchmark {
+
+    private static final int ACHIEVEMENTS_PER_DICTATOR = 10;
+    private static final int INSERT_BATCH = 5000;
+
+    @Param({"10000", "100000", "1000000"})
+    int achievements;
+
+    ConfigurableApplicationContext context;
+    AchievementRepository achievementRepository;
+    int dictators;
+    LocalDateTime oldest;
+
+    @Setup
+    public void setUp() {
+        context = JpaContext.start("--spring.flyway.enabled=true", "--spring.jpa.hibernate.ddl-auto=validate");
+        achievementRepository = context.getBean(AchievementRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        dictators = achievements / ACHIEVEMENTS_PER_DICTATOR;
+        oldest = LocalDateTime.now().minusYears(1);
+
+        // Plain JDBC batches; going through JPA would make the million-row setup take minutes
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+        for (int i = 1; i <= dictators; i++) {
+            rows.add(new Object[]{(long) i, Fixtures.username(i), "Dictator " + i, "Country " + i % 50});
+            if (rows.size() == INSERT_BATCH || i == dictators) {
+                jdbcTemplate.batchUpdate("INSERT INTO dictators (id, username, name, country) VALUES (?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        for (int i = 1; i <= achievements; i++) {
+            Timestamp updatedAt = Timestamp.valueOf(oldest.plusSeconds(i));
+            rows.add(new Object[]{(long) i, (long) ((i - 1) / ACHIEVEMENTS_PER_DICTATOR + 1), "Achievement " + i,
+                1900 + i % 100, updatedAt, updatedAt});
+            if (rows.size() == INSERT_BATCH || i == achievements) {
+                jdbcTemplate.batchUpdate("INSERT INTO achievements (id, dictator_id, title, achievement_year, "
+                    + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Achievement> findByDictatorId() {
+        return achievementRepository.findByDictatorId(randomDictator());
+    }
+
+    @Benchmark
+    public List<Achievement> findByDictatorUsername() {
+        return achievementRepository.findByDictatorUsername(Fixtures.username(randomDictator().intValue()));
+    }
+
+    @Benchmark
+    public ResourceVersion findVersionByDictatorId() {
+        return achievementRepository.findVersionByDictatorId(randomDictator());
+    }
+
+    // A keyset page starting at a random point of the updated_at order
+    @Benchmark
+    public List<Achievement> findPageAfterUpdatedAt() {
+        int offset = ThreadLocalRandom.current().nextInt(achievements);
+        return achievementRepository.findPageAfterUpdatedAt(oldest.plusSeconds(offset), (long) offset, Limit.of(50));
+    }
+
+    private Long randomDictator() {
+        return 1L + ThreadLocalRandom.current().nextInt(dictators);
+    }
+}
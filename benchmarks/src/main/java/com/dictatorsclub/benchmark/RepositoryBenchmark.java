@@ -0,0 +1,75 @@
+package com.dictatorsclub.benchmark;
+
+import com.dictatorsclub.model.Achievement;
+import com.dictatorsclub.model.Dictator;
+import com.dictatorsclub.repository.AchievementRepository;
+import com.dictatorsclub.repository.DictatorRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-row and per-owner lookups against a seeded in-memory H2 database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    private static final int SEED_BATCH = 500;
+
+    @Param({"1000", "10000"})
+    int dictators;
+
+    @Param({"10"})
+    int achievementsPerDictator;
+
+    ConfigurableApplicationContext context;
+    DictatorRepository dictatorRepository;
+    AchievementRepository achievementRepository;
+
+    @Setup
+    public void setUp() {
+        context = JpaContext.start();
+        dictatorRepository = context.getBean(DictatorRepository.class);
+        achievementRepository = context.getBean(AchievementRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+            context.getBean(PlatformTransactionManager.class));
+        for (int start = 0; start < dictators; start += SEED_BATCH) {
+            List<Dictator> batch = new ArrayList<>(SEED_BATCH);
+            for (int i = start; i < Math.min(start + SEED_BATCH, dictators); i++) {
+                batch.add(Fixtures.dictator(Fixtures.username(i), achievementsPerDictator));
+            }
+            transactionTemplate.executeWithoutResult(status -> dictatorRepository.saveAll(batch));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Dictator> findByUsername() {
+        return dictatorRepository.findByUsername(randomUsername());
+    }
+
+    @Benchmark
+    public List<Achievement> findByDictatorUsername() {
+        return achievementRepository.findByDictatorUsername(randomUsername());
+    }
+
+    private String randomUsername() {
+        return Fixtures.username(ThreadLocalRandom.current().nextInt(dictators));
+    }
+}
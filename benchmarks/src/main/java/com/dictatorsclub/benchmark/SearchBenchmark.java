@@ -0,0 +1,96 @@
+package com.dictatorsclub.benchmark;
+
+import com.dictatorsclub.search.InvertedIndex;
+import com.dictatorsclub.search.SearchHit;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-10 queries against an InvertedIndex of about a million achievement-sized documents. Words are
+ * built from a small syllable set, so prefixes fan out to many terms the way real text does, and are
+ * drawn with a long tail, so a few are in most documents and most are rare. Exact, prefix and
+ * multi-term queries each run against a common and a rare word.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    private static final String[] SYLLABLES = {"ka", "ro", "man", "tem", "pi", "lo", "ves", "tar", "du", "sen",
+        "cor", "na", "bel", "qui", "rex"};
+    private static final int LIMIT = 10;
+
+    @Param({"1000000"})
+    int documents;
+
+    @Param({"50000"})
+    int vocabulary;
+
+    @Param({"8"})
+    int wordsPerDocument;
+
+    InvertedIndex index;
+    String[] words;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        words = new String[vocabulary];
+        for (int i = 0; i < vocabulary; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int s = 2 + random.nextInt(3); s > 0; s--) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words[i] = word.append(i).toString();
+        }
+        index = new InvertedIndex("achievement");
+        StringBuilder text = new StringBuilder();
+        for (long id = 1; id <= documents; id++) {
+            text.setLength(0);
+            for (int w = 0; w < wordsPerDocument; w++) {
+                // Cubing a uniform draw skews towards the first words of the vocabulary
+                double draw = random.nextDouble();
+                text.append(words[(int) (draw * draw * draw * vocabulary)]).append(' ');
+            }
+            index.put(id, "Achievement " + id, text.toString());
+        }
+    }
+
+    @Benchmark
+    public List<SearchHit> exactCommon() {
+        return index.search(words[0] + " " + words[1], LIMIT);
+    }
+
+    @Benchmark
+    public List<SearchHit> exactRare() {
+        return index.search(words[vocabulary - 1] + " " + words[vocabulary - 2], LIMIT);
+    }
+
+    // Last token is a prefix; a bare syllable expands to thousands of terms
+    @Benchmark
+    public List<SearchHit> prefixShort() {
+        return index.search(words[0].substring(0, 2), LIMIT);
+    }
+
+    @Benchmark
+    public List<SearchHit> prefixLong() {
+        return index.search(words[0].substring(0, 5), LIMIT);
+    }
+
+    // A common exact term narrows the candidates before a broad prefix is scored
+    @Benchmark
+    public List<SearchHit> multiTermCommon() {
+        return index.search(words[0] + " " + words[2] + " " + words[1].substring(0, 4), LIMIT);
+    }
+
+    @Benchmark
+    public List<SearchHit> multiTermRare() {
+        return index.search(words[vocabulary / 2] + " " + words[3].substring(0, 3), LIMIT);
+    }
+}
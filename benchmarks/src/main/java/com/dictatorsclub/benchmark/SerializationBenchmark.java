@@ -0,0 +1,60 @@
+package com.dictatorsclub.benchmark;
+
+import com.dictatorsclub.dto.DictatorDto;
+import com.dictatorsclub.model.Dictator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response-body serialization of a dictator with its achievements, as the entity graph
+ * (@JsonManagedReference/@JsonBackReference) and as the DTO the read endpoints return.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"0", "10", "100", "1000"})
+    int achievements;
+
+    ObjectMapper objectMapper;
+    Dictator dictator;
+    DictatorDto dto;
+
+    @Setup
+    public void setUp() {
+        // Same modules and defaults as the ObjectMapper Spring Boot builds for the service
+        objectMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new Hibernate6Module()).build();
+        dictator = Fixtures.dictator(Fixtures.username(0), achievements);
+        dictator.setId(1L);
+        for (int i = 0; i < dictator.getAchievements().size(); i++) {
+            dictator.getAchievements().get(i).setId(i + 1L);
+        }
+        dto = DictatorDto.from(dictator).withAchievements(DictatorDto.achievementsOf(dictator));
+    }
+
+    @Benchmark
+    public byte[] entity() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dictator);
+    }
+
+    @Benchmark
+    public byte[] dto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dto);
+    }
+
+    // Includes building the DTO, which is what a cache miss on GET /api/dictators/{id} pays
+    @Benchmark
+    public byte[] entityToDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+            DictatorDto.from(dictator).withAchievements(DictatorDto.achievementsOf(dictator)));
+    }
+}
@@ -0,0 +1,119 @@
+package com.dictatorsclub.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ids and owners of the rows the workload picks from: seeded through /api/init/bulk, then read back
+ * through the paged dictator list so rows that already existed take part too.
+ */
+class Dataset {
+
+    private static final int SEED_CHUNK = 500;
+    private static final int PAGE_SIZE = 200;
+
+    final long[] dictatorIds;
+    final String[] usernames;
+    final long[] achievementIds;
+    final String[] achievementOwners;
+
+    private Dataset(long[] dictatorIds, String[] usernames, long[] achievementIds, String[] achievementOwners) {
+        this.dictatorIds = dictatorIds;
+        this.usernames = usernames;
+        this.achievementIds = achievementIds;
+        this.achievementOwners = achievementOwners;
+    }
+
+    static void seed(HttpClient http, ObjectMapper objectMapper, String baseUrl, String prefix, int dictators,
+                     int achievementsPerDictator) throws IOException, InterruptedException {
+        for (int start = 0; start < dictators; start += SEED_CHUNK) {
+            StringBuilder body = new StringBuilder();
+            for (int i = start; i < Math.min(start + SEED_CHUNK, dictators); i++) {
+                ObjectNode dictator = objectMapper.createObjectNode()
+                    .put("username", prefix + i)
+                    .put("name", "Load Test Dictator " + i)
+                    .put("country", "Country " + i % 50)
+                    .put("description", "Seeded by the load generator")
+                    .put("yearsInPower", "1900-1950");
+                var achievements = dictator.putArray("achievements");
+                for (int j = 0; j < achievementsPerDictator; j++) {
+                    achievements.addObject()
+                        .put("title", "Achievement " + j)
+                        .put("description", "Seeded by the load generator")
+                        .put("year", 1900 + j % 100);
+                }
+                body.append(objectMapper.writeValueAsString(dictator)).append('\n');
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/init/bulk"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("Seeding failed with " + response.statusCode() + ": " + response.body());
+            }
+        }
+    }
+
+    static Dataset load(HttpClient http, ObjectMapper objectMapper, String baseUrl)
+            throws IOException, InterruptedException {
+        List<Long> dictatorIds = new ArrayList<>();
+        List<String> usernames = new ArrayList<>();
+        List<Long> achievementIds = new ArrayList<>();
+        List<String> achievementOwners = new ArrayList<>();
+        for (JsonNode dictator : pages(http, objectMapper, baseUrl + "/api/dictators?include=achievements")) {
+            String username = dictator.get("username").asText();
+            dictatorIds.add(dictator.get("id").asLong());
+            usernames.add(username);
+            for (JsonNode achievement : dictator.path("achievements")) {
+                achievementIds.add(achievement.get("id").asLong());
+                achievementOwners.add(username);
+            }
+        }
+        if (dictatorIds.isEmpty()) {
+            throw new IllegalStateException("No dictators to run against; seed some first");
+        }
+        return new Dataset(dictatorIds.stream().mapToLong(Long::longValue).toArray(), usernames.toArray(String[]::new),
+            achievementIds.stream().mapToLong(Long::longValue).toArray(), achievementOwners.toArray(String[]::new));
+    }
+
+    private static List<JsonNode> pages(HttpClient http, ObjectMapper objectMapper, String url)
+            throws IOException, InterruptedException {
+        List<JsonNode> items = new ArrayList<>();
+        String cursor = null;
+        do {
+            String pageUrl = url + "&limit=" + PAGE_SIZE
+                + (cursor == null ? "" : "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(pageUrl)).build(),
+                HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("GET " + pageUrl + " failed with " + response.statusCode());
+            }
+            JsonNode page = objectMapper.readTree(response.body());
+            page.get("items").forEach(items::add);
+            cursor = page.hasNonNull("next") ? page.get("next").asText() : null;
+        } while (cursor != null);
+        return items;
+    }
+
+    int randomDictator() {
+        return ThreadLocalRandom.current().nextInt(dictatorIds.length);
+    }
+
+    // -1 when there are no achievements yet
+    int randomAchievement() {
+        return achievementIds.length == 0 ? -1 : ThreadLocalRandom.current().nextInt(achievementIds.length);
+    }
+}
@@ -0,0 +1,244 @@
+package com.dictatorsclub.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator. Requests are scheduled at a fixed rate and each latency is measured from
+ * the time the request was due, not from when it was sent, so stalls in the service show up in the
+ * percentiles instead of silently lowering the request rate (coordinated omission).
+ *
+ * <pre>
+ * mvn -B package exec:java@loadtest -Dexec.args="--dictators=1000 --achievements=10 --rate=500 --duration=60"
+ * </pre>
+ *
+ * The service has to trust the built-in issuer: start it with OIDC_ISSUER_URI set to the URI printed
+ * at startup (http://localhost:9180/realms/loadtest by default). --duration=0 only seeds data.
+ */
+public class LoadTest {
+
+    private static final String DEFAULT_MIX = "getDictator:35,listDictators:10,getDictatorAchievements:20,"
+        + "listAchievements:10,getAchievement:10,updateDictator:5,createAchievement:5,updateAchievement:5";
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8081");
+        int issuerPort = Integer.parseInt(options.getOrDefault("issuer-port", "9180"));
+        String realm = options.getOrDefault("realm", "loadtest");
+        int dictators = Integer.parseInt(options.getOrDefault("dictators", "1000"));
+        int achievements = Integer.parseInt(options.getOrDefault("achievements", "10"));
+        String prefix = options.getOrDefault("prefix", "load");
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "512"));
+        Map<Operation, Integer> mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+        Path reportDir = Path.of(options.getOrDefault("report-dir", "target/loadtest"));
+
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        try (StandInIssuer issuer = new StandInIssuer(issuerPort, realm)) {
+            System.out.println("Issuer: " + issuer.issuerUri() + " (start the service with OIDC_ISSUER_URI set to it)");
+            awaitService(http, baseUrl);
+
+            if (dictators > 0) {
+                long started = System.nanoTime();
+                Dataset.seed(http, objectMapper, baseUrl, prefix, dictators, achievements);
+                System.out.printf("Seeded %d dictators with %d achievements each in %d ms%n", dictators, achievements,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            }
+            if (duration.isZero()) {
+                return;
+            }
+            Dataset data = Dataset.load(http, objectMapper, baseUrl);
+            System.out.printf("Running against %d dictators and %d achievements at %.0f req/s for %ds (+%ds warmup)%n",
+                data.dictatorIds.length, data.achievementIds.length, rate, duration.toSeconds(), warmup.toSeconds());
+
+            Map<Operation, Stats> stats = run(http, baseUrl, data, issuer, mix, rate, warmup, duration, maxInFlight);
+            report(stats, duration, System.out);
+            writeHistograms(stats, reportDir);
+        }
+    }
+
+    private static Map<Operation, Stats> run(HttpClient http, String baseUrl, Dataset data, StandInIssuer issuer,
+                                             Map<Operation, Integer> mix, double rate, Duration warmup,
+                                             Duration duration, int maxInFlight) throws InterruptedException {
+        Operation[] operations = mix.keySet().toArray(Operation[]::new);
+        int[] cumulativeWeights = new int[operations.length];
+        int totalWeight = 0;
+        for (int i = 0; i < operations.length; i++) {
+            totalWeight += mix.get(operations[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+        Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : operations) {
+            stats.put(operation, new Stats());
+        }
+
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * intervalNanos;
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // Waiting here delays later sends, but their latency still counts from their due time
+            inFlight.acquire();
+
+            int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+            int index = 0;
+            while (cumulativeWeights[index] <= pick) {
+                index++;
+            }
+            Operation operation = operations[index];
+            HttpRequest.Builder builder = operation.request(baseUrl, data, issuer);
+            if (builder == null) {
+                inFlight.release();
+                continue;
+            }
+            Stats operationStats = stats.get(operation);
+            boolean measured = intendedStart >= measureFrom;
+            long sentAt = System.nanoTime();
+            http.sendAsync(builder.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    long completedAt = System.nanoTime();
+                    inFlight.release();
+                    if (!measured) {
+                        return;
+                    }
+                    operationStats.responseTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS,
+                        TimeUnit.NANOSECONDS.toMicros(completedAt - intendedStart)));
+                    operationStats.serviceTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS,
+                        TimeUnit.NANOSECONDS.toMicros(completedAt - sentAt)));
+                    if (failure != null || response.statusCode() >= 400) {
+                        operationStats.errors.incrementAndGet();
+                    }
+                    if (failure == null && (response.statusCode() == 429 || response.statusCode() == 503)) {
+                        operationStats.throttled.incrementAndGet();
+                    }
+                });
+        }
+        if (!inFlight.tryAcquire(maxInFlight, 60, TimeUnit.SECONDS)) {
+            System.err.println("Warning: requests still in flight after 60s; they are missing from the report");
+        }
+        return stats;
+    }
+
+    private static void report(Map<Operation, Stats> stats, Duration duration, PrintStream out) {
+        out.printf("%n%-40s %9s %7s %9s %9s %9s %9s %11s%n", "endpoint", "count", "errors", "p50 ms", "p99 ms",
+            "p99.9 ms", "max ms", "svc p99 ms");
+        long total = 0;
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().responseTime;
+            total += histogram.getTotalCount();
+            out.printf("%-40s %9d %7d %9.2f %9.2f %9.2f %9.2f %11.2f%n", entry.getKey().endpoint,
+                histogram.getTotalCount(), entry.getValue().errors.get(), millis(histogram, 50),
+                millis(histogram, 99), millis(histogram, 99.9), histogram.getMaxValue() / 1000.0,
+                millis(entry.getValue().serviceTime, 99));
+        }
+        out.printf("%nThroughput: %.1f req/s%n", total / (double) duration.toSeconds());
+        long throttled = stats.values().stream().mapToLong(operationStats -> operationStats.throttled.get()).sum();
+        if (throttled > 0) {
+            // Every request comes from one address, so admission control measures itself rather than the service
+            out.printf("Warning: %d responses were 429 or 503 from admission control; restart the service with "
+                + "--dictators-club.admission.enabled=false to measure raw throughput%n", throttled);
+        }
+    }
+
+    private static void writeHistograms(Map<Operation, Stats> stats, Path reportDir) throws IOException {
+        Files.createDirectories(reportDir);
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(reportDir.resolve(entry.getKey().key + ".hgrm")))) {
+                out.println("# " + entry.getKey().endpoint + ", response time in ms, corrected for coordinated omission");
+                entry.getValue().responseTime.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.println("Percentile distributions written to " + reportDir.toAbsolutePath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static void awaitService(HttpClient http, String baseUrl) throws InterruptedException {
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl + "/api/dictators?limit=1")).build();
+        for (int attempt = 0; attempt < 60; attempt++) {
+            try {
+                if (http.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not up yet
+            }
+            Thread.sleep(1000);
+        }
+        throw new IllegalStateException("Service at " + baseUrl + " did not come up");
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] keyAndWeight = part.trim().split(":");
+            int weight = Integer.parseInt(keyAndWeight[1]);
+            if (weight > 0) {
+                weights.put(Operation.fromKey(keyAndWeight[0]), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no operations with a positive weight");
+        }
+        return weights;
+    }
+
+    private static final class Stats {
+        final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong throttled = new AtomicLong();
+    }
+}
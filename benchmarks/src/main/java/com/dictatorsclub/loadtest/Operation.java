@@ -0,0 +1,112 @@
+package com.dictatorsclub.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Requests the workload can issue. Writes go to a random row as its owner; ids are drawn from the
+ * dataset loaded at startup, so rows created during the run are not read back.
+ */
+enum Operation {
+
+    GET_DICTATOR("getDictator", "GET /api/dictators/{id}") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset data, StandInIssuer issuer) {
+            return get(baseUrl + "/api/dictators/" + data.dictatorIds[data.randomDictator()]);
+        }
+    },
+    LIST_DICTATORS("listDictators", "GET /api/dictators") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset data, StandInIssuer issuer) {
+            return get(baseUrl + "/api/dictators?limit=50");
+        }
+    },
+    GET_DICTATOR_ACHIEVEMENTS("getDictatorAchievements", "GET /api/dictators/{id}/achievements") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset data, StandInIssuer issuer) {
+            return get(baseUrl + "/api/dictators/" + data.dictatorIds[data.randomDictator()] + "/achievements");
+        }
+    },
+    LIST_ACHIEVEMENTS("listAchievements", "GET /api/achievements") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset data, StandInIssuer issuer) {
+            return get(baseUrl + "/api/achievements?limit=50");
+        }
+    },
+    GET_ACHIEVEMENT("getAchievement", "GET /api/achievements/{id}") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset data, StandInIssuer issuer) {
+            int i = data.randomAchievement();
+            if (i < 0) {
+                return null;
+            }
+            return get(baseUrl + "/api/achievements/" + data.achievementIds[i])
+                .header("Authorization", "Bearer " + issuer.tokenFor(data.achievementOwners[i]));
+        }
+    },
+    UPDATE_DICTATOR("updateDictator", "PUT /api/dictators/{id}") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset data, StandInIssuer issuer) {
+            int i = data.randomDictator();
+            String body = "{\"name\":\"Load Test Dictator " + data.usernames[i] + "\",\"country\":\"Country "
+                + ThreadLocalRandom.current().nextInt(50) + "\",\"description\":\"Updated by the load generator\","
+                + "\"yearsInPower\":\"1900-1950\"}";
+            return json(baseUrl + "/api/dictators/" + data.dictatorIds[i], data.usernames[i], issuer)
+                .PUT(HttpRequest.BodyPublishers.ofString(body));
+        }
+    },
+    CREATE_ACHIEVEMENT("createAchievement", "POST /api/dictators/{id}/achievements") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset data, StandInIssuer issuer) {
+            int i = data.randomDictator();
+            String body = "{\"title\":\"Load test achievement\",\"description\":\"Created by the load generator\","
+                + "\"year\":" + (1900 + ThreadLocalRandom.current().nextInt(100)) + "}";
+            return json(baseUrl + "/api/dictators/" + data.dictatorIds[i] + "/achievements", data.usernames[i], issuer)
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    },
+    UPDATE_ACHIEVEMENT("updateAchievement", "PUT /api/achievements/{id}") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset data, StandInIssuer issuer) {
+            int i = data.randomAchievement();
+            if (i < 0) {
+                return null;
+            }
+            String body = "{\"title\":\"Load test achievement\",\"description\":\"Updated by the load generator\","
+                + "\"year\":" + (1900 + ThreadLocalRandom.current().nextInt(100)) + "}";
+            return json(baseUrl + "/api/achievements/" + data.achievementIds[i], data.achievementOwners[i], issuer)
+                .PUT(HttpRequest.BodyPublishers.ofString(body));
+        }
+    };
+
+    final String key;
+    final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    // null when the dataset has nothing to target
+    abstract HttpRequest.Builder request(String baseUrl, Dataset data, StandInIssuer issuer);
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+
+    private static HttpRequest.Builder get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET();
+    }
+
+    private static HttpRequest.Builder json(String url, String username, StandInIssuer issuer) {
+        return HttpRequest.newBuilder(URI.create(url))
+            .header("Content-Type", "application/json")
+            .header("Authorization", "Bearer " + issuer.tokenFor(username));
+    }
+}
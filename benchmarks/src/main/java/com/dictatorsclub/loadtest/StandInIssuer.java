@@ -0,0 +1,95 @@
+package com.dictatorsclub.loadtest;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Minimal OIDC issuer for load tests: publishes one RSA key at the Keycloak-style certs path and
+ * signs tokens with it. Start the service with OIDC_ISSUER_URI set to {@link #issuerUri()}.
+ */
+class StandInIssuer implements AutoCloseable {
+
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(2);
+
+    private final RSAKey key;
+    private final RSASSASigner signer;
+    private final HttpServer server;
+    private final String issuerUri;
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+
+    StandInIssuer(int port, String realm) throws IOException, JOSEException {
+        // Fresh key id per run, so a service still holding the previous run's key refetches the set
+        this.key = new RSAKeyGenerator(2048).keyID("loadtest-" + UUID.randomUUID()).generate();
+        this.signer = new RSASSASigner(key);
+        this.issuerUri = "http://localhost:" + port + "/realms/" + realm;
+        byte[] certs = new JWKSet(key.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+        byte[] discovery = ("{\"issuer\":\"" + issuerUri + "\",\"jwks_uri\":\"" + issuerUri
+            + "/protocol/openid-connect/certs\"}").getBytes(StandardCharsets.UTF_8);
+
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/realms/" + realm + "/protocol/openid-connect/certs", exchange -> respond(exchange, certs));
+        server.createContext("/realms/" + realm + "/.well-known/openid-configuration",
+            exchange -> respond(exchange, discovery));
+        server.start();
+    }
+
+    String issuerUri() {
+        return issuerUri;
+    }
+
+    // One token per user, so the service's validated-token cache behaves as with real clients
+    String tokenFor(String username) {
+        return tokens.computeIfAbsent(username, this::mint);
+    }
+
+    private String mint(String username) {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .issuer(issuerUri)
+            .subject(username)
+            .claim("preferred_username", username)
+            .issueTime(Date.from(now))
+            .expirationTime(Date.from(now.plus(TOKEN_LIFETIME)))
+            .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        try {
+            jwt.sign(signer);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Failed to sign token", e);
+        }
+        return jwt.serialize();
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,101 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop read load: N clients, each on its own virtual thread, repeatedly GET a random dictator
+ * or a page of the dictator list. Prints throughput, latency percentiles and error counts.
+ *
+ * Usage: java ConcurrentClients.java <baseUrl> <clients> <seconds> <maxDictatorId>
+ */
+public class ConcurrentClients {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args[0];
+        int clients = Integer.parseInt(args[1]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[2]));
+        long maxId = Long.parseLong(args[3]);
+
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        AtomicLong ok = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        List<Samples> latencies = new ArrayList<>();
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Thread> threads = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            Samples samples = new Samples();
+            latencies.add(samples);
+            threads.add(Thread.ofVirtual().start(() -> {
+                while (System.nanoTime() < deadline) {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    String path = random.nextInt(10) == 0
+                        ? "/api/dictators?limit=50"
+                        : "/api/dictators/" + (1 + random.nextLong(maxId));
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .timeout(Duration.ofSeconds(30))
+                        .build();
+                    long started = System.nanoTime();
+                    try {
+                        int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status == 503) {
+                            rejected.incrementAndGet();
+                        } else if (status >= 500) {
+                            failed.incrementAndGet();
+                        } else {
+                            ok.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                    }
+                    samples.add(System.nanoTime() - started);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int total = latencies.stream().mapToInt(samples -> samples.size).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (Samples samples : latencies) {
+            System.arraycopy(samples.values, 0, all, offset, samples.size);
+            offset += samples.size;
+        }
+        Arrays.sort(all);
+        System.out.printf("clients=%d ok=%d rejected=%d failed=%d throughput=%.0f/s p50=%.1fms p99=%.1fms p999=%.1fms%n",
+            clients, ok.get(), rejected.get(), failed.get(), ok.get() / (double) duration.toSeconds(),
+            percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999));
+    }
+
+    private static final class Samples {
+        long[] values = new long[64];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1_000_000.0;
+    }
+}
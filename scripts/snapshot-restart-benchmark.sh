@@ -0,0 +1,79 @@
+#!/usr/bin/env bash
+# Measures a warm restart of the in-memory database from a snapshot: seeds the service, stops it
+# (writing the snapshot), starts it again and reports restore time and time to first response.
+# Needs a free port 8081.
+# Usage: scripts/snapshot-restart-benchmark.sh [dictators] [achievements-per-dictator]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+DICTATORS=${1:-50000}
+PER_DICTATOR=${2:-20}
+CHUNK=1000
+BASE_URL=http://localhost:8081
+SNAPSHOT=target/snapshot-bench/snapshot.bin
+# Nothing listens here; the benchmark only uses public endpoints
+export OIDC_ISSUER_URI=${OIDC_ISSUER_URI:-http://localhost:9/realms/snapshot}
+
+mvn -B -q package -DskipTests
+JAR=$(ls target/dictators-club-*-exec.jar)
+rm -rf target/snapshot-bench
+mkdir -p target/snapshot-bench
+
+# Results are returned in PID and ELAPSED_MS rather than printed, so the calls stay in this shell
+PID=
+ELAPSED_MS=
+start_service() {
+    local log=$1
+    local started
+    started=$(date +%s%N)
+    java -jar "$JAR" --dictators-club.snapshot.enabled=true --dictators-club.snapshot.path="$SNAPSHOT" \
+        --dictators-club.snapshot.interval=0s --dictators-club.admission.enabled=false \
+        --spring.jpa.show-sql=false --logging.level.root=WARN --logging.level.com.dictatorsclub=WARN \
+        --logging.level.org.springframework.security=WARN \
+        --logging.level.com.dictatorsclub.service.SnapshotService=INFO > "$log" 2>&1 &
+    PID=$!
+    until curl -sf -o /dev/null "$BASE_URL/api/dictators?limit=1"; do
+        kill -0 "$PID" 2>/dev/null || { echo "service exited, see $log" >&2; exit 1; }
+        sleep 0.05
+    done
+    ELAPSED_MS=$(( ($(date +%s%N) - started) / 1000000 ))
+}
+
+stop_service() {
+    local started
+    started=$(date +%s%N)
+    kill "$PID"
+    wait "$PID" 2>/dev/null || true
+    ELAPSED_MS=$(( ($(date +%s%N) - started) / 1000000 ))
+}
+
+seed() {
+    for ((offset = 0; offset < DICTATORS; offset += CHUNK)); do
+        python3 - "$offset" "$CHUNK" "$DICTATORS" "$PER_DICTATOR" <<'PY' \
+            | curl -sf -o /dev/null -H 'Content-Type: application/x-ndjson' --data-binary @- "$BASE_URL/api/init/bulk"
+import json, sys
+offset, chunk, total, per = map(int, sys.argv[1:])
+for i in range(offset, min(offset + chunk, total)):
+    print(json.dumps({"username": f"snap{i}", "name": f"Snapshot Dictator {i}", "country": f"Country {i % 50}",
+                      "description": "x" * 200, "yearsInPower": str(i % 40),
+                      "achievements": [{"title": f"Deed {j}", "description": "y" * 200, "year": 1900 + j}
+                                       for j in range(per)]}))
+PY
+    done
+}
+
+start_service target/snapshot-bench/empty.log
+empty_ms=$ELAPSED_MS
+seed_started=$(date +%s)
+seed
+echo "seeded $DICTATORS dictators and $((DICTATORS * PER_DICTATOR)) achievements in $(( $(date +%s) - seed_started )) s"
+stop_service
+shutdown_ms=$ELAPSED_MS
+start_service target/snapshot-bench/warm.log
+warm_ms=$ELAPSED_MS
+stop_service
+
+echo "empty start, first response:     ${empty_ms} ms"
+echo "shutdown including snapshot:     ${shutdown_ms} ms ($(stat -c %s "$SNAPSHOT") bytes)"
+echo "warm start, first response:      ${warm_ms} ms"
+grep -h "Wrote\|Restored" target/snapshot-bench/empty.log target/snapshot-bench/warm.log | sed 's/.*: //'
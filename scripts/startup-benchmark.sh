@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# Cold-start comparison of the default executable jar and the fast-startup build (AOT + AppCDS + lazy init).
+# Measures the time from launching the JVM to the first successful GET /api/dictators, and the
+# process RSS at that moment. Needs a free port 8081.
+# Usage: scripts/startup-benchmark.sh [runs-per-mode]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+URL=http://localhost:8081/api/dictators?limit=1
+# Nothing listens here; public reads never need the key set
+export OIDC_ISSUER_URI=${OIDC_ISSUER_URI:-http://localhost:9/realms/startup}
+
+mvn -B -q -Pfast-startup package -DskipTests
+JAR=$(ls target/dictators-club-*-exec.jar)
+PLAIN_JAR=${JAR%-exec.jar}.jar
+
+measure() {
+    local mode=$1
+    shift
+    local start
+    start=$(date +%s%N)
+    "$@" > "target/startup-$mode.log" 2>&1 &
+    local pid=$!
+    until curl -sf -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "$mode: process exited, see target/startup-$mode.log" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    local elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+    local rss
+    rss=$(awk '/VmRSS/ { print int($2 / 1024) }' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed $rss"
+}
+
+report() {
+    local mode=$1
+    shift
+    local times=() rss=()
+    for _ in $(seq 1 "$RUNS"); do
+        read -r t r < <(measure "$mode" "$@")
+        times+=("$t")
+        rss+=("$r")
+    done
+    local sorted_times sorted_rss
+    sorted_times=$(printf '%s\n' "${times[@]}" | sort -n)
+    sorted_rss=$(printf '%s\n' "${rss[@]}" | sort -n)
+    local mid=$(( (RUNS + 1) / 2 ))
+    printf '%-8s first response ms: median %5d  min %5d  max %5d   rss MB: median %4d\n' "$mode" \
+        "$(sed -n "${mid}p" <<< "$sorted_times")" "$(head -1 <<< "$sorted_times")" \
+        "$(tail -1 <<< "$sorted_times")" "$(sed -n "${mid}p" <<< "$sorted_rss")"
+}
+
+report default java -jar "$JAR"
+report fast java -XX:SharedArchiveFile=target/fast-startup/app.jsa -Dspring.aot.enabled=true \
+    -cp "$PLAIN_JAR:target/fast-startup/lib/*" com.dictatorsclub.DictatorsClubApplication \
+    --spring.profiles.active=fast-startup
@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+# Compares platform-thread and virtual-thread request handling under 1k-10k concurrent readers.
+# Needs Java 21 on the PATH (the build then targets 21) and a free port 8081.
+# Usage: scripts/thread-mode-benchmark.sh [seconds-per-run] [client counts...]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+SECONDS_PER_RUN=${1:-30}
+shift || true
+CLIENTS=${*:-1000 2500 5000 10000}
+DICTATORS=2000
+BASE_URL=http://localhost:8081
+
+ulimit -n 65536 2>/dev/null || echo "warning: could not raise open file limit"
+
+mvn -B -q package -DskipTests
+JAR=$(ls target/dictators-club-*-exec.jar)
+
+seed() {
+    python3 - "$DICTATORS" <<'PY' | curl -sf -o /dev/null -H 'Content-Type: application/x-ndjson' --data-binary @- "$BASE_URL/api/init/bulk"
+import json, sys
+for i in range(int(sys.argv[1])):
+    print(json.dumps({"username": f"bench{i}", "name": f"Bench Dictator {i}", "country": f"Country {i % 50}",
+                      "description": "x" * 200, "yearsInPower": i % 40,
+                      "achievements": [{"title": f"Deed {j}", "description": "y" * 200, "year": 1900 + j}
+                                       for j in range(20)]}))
+PY
+}
+
+run_mode() {
+    local mode=$1
+    shift
+    java -jar "$JAR" "$@" --server.tomcat.max-connections=20000 --logging.level.root=WARN \
+        --logging.level.com.dictatorsclub=WARN --logging.level.org.springframework.security=WARN --spring.jpa.show-sql=false > "target/bench-$mode.log" 2>&1 &
+    local pid=$!
+    for _ in $(seq 1 60); do
+        curl -sf -o /dev/null "$BASE_URL/api/dictators?limit=1" && break
+        sleep 1
+    done
+    seed
+    for clients in $CLIENTS; do
+        echo -n "$mode "
+        java scripts/ConcurrentClients.java "$BASE_URL" "$clients" "$SECONDS_PER_RUN" "$DICTATORS"
+    done
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+# Platform threads with the admission limit enabled, so the only difference is the thread model
+run_mode platform --dictators-club.admission.enabled=true --spring.datasource.hikari.maximum-pool-size=20 \
+    --dictators-club.admission.max-concurrent-requests=40
+run_mode virtual --spring.profiles.active=virtual-threads
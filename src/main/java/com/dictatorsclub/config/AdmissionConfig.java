@@ -0,0 +1,60 @@
+package com.dictatorsclub.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Admission filters, added to the security chain by {@link SecurityConfig} once the caller is known.
+ */
+@Configuration
+@ConditionalOnProperty(name = "dictators-club.admission.enabled", havingValue = "true")
+public class AdmissionConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "dictators-club.admission.rate-limit.enabled", havingValue = "true",
+        matchIfMissing = true)
+    public RateLimitFilter rateLimitFilter(
+            @Value("${dictators-club.admission.rate-limit.principal.requests-per-second:50}") double principalRate,
+            @Value("${dictators-club.admission.rate-limit.principal.burst:100}") int principalBurst,
+            @Value("${dictators-club.admission.rate-limit.address.requests-per-second:20}") double addressRate,
+            @Value("${dictators-club.admission.rate-limit.address.burst:40}") int addressBurst,
+            @Value("${dictators-club.admission.rate-limit.max-tracked-callers:100000}") int maxTrackedCallers,
+            MeterRegistry meterRegistry) {
+        return new RateLimitFilter(principalRate, principalBurst, addressRate, addressBurst, maxTrackedCallers,
+            meterRegistry);
+    }
+
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter(
+            @Value("${dictators-club.admission.max-concurrent-requests:${spring.datasource.hikari.maximum-pool-size:10}}")
+            int maxConcurrentRequests,
+            @Value("${dictators-club.admission.max-wait:2s}") Duration maxWait,
+            @Value("${dictators-club.admission.retry-after:1s}") Duration retryAfter,
+            MeterRegistry meterRegistry) {
+        return new ConcurrencyLimitFilter(maxConcurrentRequests, maxWait, retryAfter, meterRegistry);
+    }
+
+    // Filter beans would otherwise also be registered with the servlet container and run twice
+    @Bean
+    @ConditionalOnProperty(name = "dictators-club.admission.rate-limit.enabled", havingValue = "true",
+        matchIfMissing = true)
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration(
+            ConcurrencyLimitFilter filter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,19 @@
+package com.dictatorsclub.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Resource id -> owning dictator username, used by write-path ownership checks
+    public static final String DICTATOR_OWNERS = "dictatorOwners";
+    public static final String ACHIEVEMENT_OWNERS = "achievementOwners";
+
+    // Read-through caches of immutable DTOs for public GETs, evicted by the services on every write
+    public static final String DICTATORS = "dictators";
+    public static final String DICTATORS_BY_USERNAME = "dictatorsByUsername";
+    public static final String ACHIEVEMENTS = "achievements";
+    public static final String ACHIEVEMENTS_BY_DICTATOR = "achievementsByDictator";
+}
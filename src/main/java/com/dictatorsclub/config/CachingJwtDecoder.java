@@ -0,0 +1,86 @@
+package com.dictatorsclub.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers successfully validated tokens until they expire, so a client re-sending the same bearer
+ * token skips signature verification. Keys are SHA-256 digests so raw tokens are not retained.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> validated;
+    private final Timer hitTimer;
+    private final Timer missTimer;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.validated = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new Expiry<String, Jwt>() {
+                @Override
+                public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+                    Instant expiresAt = jwt.getExpiresAt();
+                    if (expiresAt == null) {
+                        return 0;
+                    }
+                    return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, validated, "jwt");
+        this.hitTimer = Timer.builder("dictators.jwt.decode").tag("cache", "hit").register(meterRegistry);
+        this.missTimer = Timer.builder("dictators.jwt.decode").tag("cache", "miss").register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        long started = System.nanoTime();
+        String key = digest(token);
+        Jwt cached = validated.getIfPresent(key);
+        if (cached != null) {
+            hitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return cached;
+        }
+        Jwt jwt = delegate.decode(token);
+        validated.put(key, jwt);
+        missTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return jwt;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
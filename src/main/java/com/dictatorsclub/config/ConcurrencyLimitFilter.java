@@ -0,0 +1,114 @@
+package com.dictatorsclub.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of API requests in flight. With virtual threads Tomcat no longer bounds concurrency,
+ * so without this every waiting client would queue inside the connection pool instead of being told
+ * to back off. Requests that cannot get a permit within the wait time are rejected with 503.
+ * Runs in the security chain after {@link RateLimitFilter}, so throttled callers never hold a permit.
+ * An async request, such as a streaming export that keeps its JDBC connection while it writes, keeps its
+ * permit until the async cycle completes. The change feed is not limited: a subscription holds no
+ * connection, and holding a permit for its lifetime would let a few subscribers starve the API.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final Duration retryAfter;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(int maxConcurrentRequests, Duration maxWait, Duration retryAfter,
+                                  MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.retryAfter = retryAfter;
+        Gauge.builder("dictators.admission.available", permits, Semaphore::availablePermits)
+            .register(meterRegistry);
+        Gauge.builder("dictators.admission.waiting", permits, Semaphore::getQueueLength)
+            .register(meterRegistry);
+        this.rejected = Counter.builder("dictators.admission.rejected").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !path.startsWith("/api/") || path.startsWith("/api/changes");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+            response.getWriter().write("Server busy, retry later");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // Completion is only signalled once this thread has left the chain, so the listener cannot miss it
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion());
+            } else {
+                permits.release();
+            }
+        }
+    }
+
+    private final class ReleaseOnCompletion implements AsyncListener {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // A further async cycle on the same request keeps the permit until it completes too
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.dictatorsclub.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The primary pool is configured from spring.datasource as usual. With replica URLs configured,
+ * read-only transactions are routed to them; either way connections are only fetched at the first
+ * statement, so a read-only transaction answered from cache never touches a pool.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    // Replica pools are not beans, so they are closed here rather than by the container
+    private final List<HikariDataSource> replicas = new ArrayList<>();
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (dataSource.getPoolName() == null) {
+            dataSource.setPoolName("primary");
+        }
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, DataSourceProperties properties,
+                                 @Value("${dictators-club.datasource.replica-urls:}") List<String> replicaUrls,
+                                 @Value("${dictators-club.datasource.replica-pool-size:10}") int replicaPoolSize,
+                                 @Value("${dictators-club.datasource.read-your-writes-window:5s}") Duration window,
+                                 MeterRegistry meterRegistry) {
+        if (replicaUrls.isEmpty()) {
+            return new LazyConnectionDataSourceProxy(primaryDataSource);
+        }
+        for (String url : replicaUrls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url);
+            replica.setUsername(properties.determineUsername());
+            replica.setPassword(properties.determinePassword());
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            // The pool metrics binder only sees DataSource beans
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        ReadYourWrites readYourWrites = window.isZero() ? null : new ReadYourWrites(window, 100_000);
+        return new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(primaryDataSource, replicas, readYourWrites, meterRegistry));
+    }
+
+    @PreDestroy
+    public void closeReplicas() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,90 @@
+package com.dictatorsclub.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every controller method and records how many SQL statements it caused. A request that runs
+ * the same statement at least {@code repeatedStatementThreshold} times is counted and logged as a
+ * likely N+1 query.
+ */
+public class HandlerMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(HandlerMetricsInterceptor.class);
+    private static final String START_ATTRIBUTE = HandlerMetricsInterceptor.class.getName() + ".start";
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatedStatementThreshold;
+
+    public HandlerMetricsInterceptor(MeterRegistry meterRegistry, int repeatedStatementThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+            QueryCountingInspector.open();
+        }
+        return true;
+    }
+
+    // Streaming responses finish on another thread; only the synchronous part would be measured
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        QueryCountingInspector.close();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !(request.getAttribute(START_ATTRIBUTE) instanceof Long start)) {
+            return;
+        }
+        QueryCountingInspector.Scope queries = QueryCountingInspector.current();
+        QueryCountingInspector.close();
+
+        String controller = handlerMethod.getBeanType().getSimpleName();
+        String method = handlerMethod.getMethod().getName();
+        String status = ex != null ? "error" : response.getStatus() / 100 + "xx";
+        Timer.builder("dictators.handler")
+            .description("Controller method execution time")
+            .tags("controller", controller, "method", method, "status", status)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (queries == null) {
+            return;
+        }
+        DistributionSummary.builder("dictators.handler.queries")
+            .description("SQL statements executed per request")
+            .tags("controller", controller, "method", method)
+            .register(meterRegistry)
+            .record(queries.total());
+
+        Map.Entry<String, Integer> repeated = queries.mostRepeated();
+        if (repeated != null && repeated.getValue() >= repeatedStatementThreshold) {
+            Counter.builder("dictators.hibernate.repeated.statements")
+                .description("Requests that ran one statement repeatedly, likely an N+1 fetch")
+                .tags("controller", controller, "method", method)
+                .register(meterRegistry)
+                .increment();
+            log.warn("Possible N+1 in {}.{}: statement ran {} times: {}", controller, method, repeated.getValue(),
+                repeated.getKey());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.dictatorsclub.config;
+
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Serializes lazy associations that were not fetched as null instead of initializing them
+    @Bean
+    public Hibernate6Module hibernate6Module() {
+        return new Hibernate6Module();
+    }
+}
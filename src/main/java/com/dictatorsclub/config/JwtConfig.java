@@ -0,0 +1,55 @@
+package com.dictatorsclub.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+
+@Configuration
+public class JwtConfig {
+
+    // Keys must already be loading when the first authenticated request arrives, even with lazy initialization
+    @Bean
+    public static LazyInitializationExcludeFilter eagerJwkSource() {
+        return LazyInitializationExcludeFilter.forBeanTypes(RefreshingJwkSource.class);
+    }
+
+    @Bean
+    public RefreshingJwkSource jwkSource(
+            @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+            @Value("${dictators-club.security.jwt.jwk-refresh-interval:5m}") Duration refreshInterval,
+            @Value("${dictators-club.security.jwt.jwk-min-refresh-interval:30s}") Duration minRefreshInterval)
+            throws MalformedURLException {
+        RefreshingJwkSource jwkSource = new RefreshingJwkSource(new URL(jwkSetUri), refreshInterval,
+            minRefreshInterval);
+        jwkSource.start();
+        return jwkSource;
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(RefreshingJwkSource jwkSource,
+                                 @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+                                 @Value("${dictators-club.security.jwt.cache-size:10000}") long cacheSize,
+                                 MeterRegistry meterRegistry) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        // Claims are checked by Spring's validators below, not by Nimbus
+        processor.setJWTClaimsSetVerifier((claims, context) -> { });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return new CachingJwtDecoder(decoder, cacheSize, meterRegistry);
+    }
+}
@@ -0,0 +1,185 @@
+package com.dictatorsclub.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A second, separate H2 database that stands in for an asynchronous replica in local runs. It gets the
+ * primary's schema at startup and then a full copy of every table every {@code lag}, each copy in one
+ * replica transaction, so readers routed to it see the primary as it was up to one lag ago. Meant for
+ * small local datasets: every refresh rereads the whole primary.
+ */
+@Component
+@ConditionalOnProperty("dictators-club.local-replica.url")
+public class LocalReplica implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalReplica.class);
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private final HikariDataSource primary;
+    private final String url;
+    private final Duration lag;
+    private ScheduledExecutorService scheduler;
+    // Held open for the replica's lifetime; an in-memory H2 database lives as long as a connection to it
+    private Connection replica;
+    private List<String> tables;
+    private volatile boolean running;
+
+    public LocalReplica(HikariDataSource primaryDataSource,
+                        @Value("${dictators-club.local-replica.url}") String url,
+                        @Value("${dictators-club.local-replica.lag:3s}") Duration lag) {
+        this.primary = primaryDataSource;
+        this.url = url;
+        this.lag = lag;
+    }
+
+    @Override
+    public void start() {
+        try {
+            replica = DriverManager.getConnection(url, primary.getUsername(), primary.getPassword());
+            tables = copySchema();
+            refresh();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create the local replica at " + url, e);
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "local-replica");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, lag.toMillis(), lag.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    // Before the read models (phase 0) replay from it, so the replay sees everything restored into the primary
+    @Override
+    public int getPhase() {
+        return -1;
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        try {
+            if (replica != null) {
+                replica.close();
+            }
+        } catch (SQLException e) {
+            log.warn("Could not close the local replica", e);
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Constraints are left out so tables can be refilled in any order
+    private List<String> copySchema() throws SQLException {
+        try (Connection connection = primary.getConnection();
+             Statement source = connection.createStatement();
+             Statement target = replica.createStatement();
+             ResultSet script = source.executeQuery("script nodata nopasswords nosettings")) {
+            while (script.next()) {
+                String sql = script.getString(1);
+                if (sql.startsWith("CREATE") && !sql.startsWith("CREATE USER")
+                        || sql.startsWith("ALTER TABLE") && !sql.contains("FOREIGN KEY")) {
+                    target.execute(sql);
+                }
+            }
+        }
+        List<String> names = new ArrayList<>();
+        try (Statement statement = replica.createStatement();
+             ResultSet rs = statement.executeQuery("select table_name from information_schema.tables "
+                 + "where table_schema = 'PUBLIC' and table_type = 'BASE TABLE'")) {
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+        }
+        return names;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (SQLException e) {
+            log.warn("Could not refresh the local replica", e);
+        }
+    }
+
+    private void refresh() throws SQLException {
+        long started = System.nanoTime();
+        long rows = 0;
+        try (Connection connection = primary.getConnection()) {
+            connection.setReadOnly(true);
+            connection.setAutoCommit(false);
+            // Every table from the same snapshot of the primary
+            connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+            replica.setAutoCommit(false);
+            try {
+                for (String table : tables) {
+                    try (Statement delete = replica.createStatement()) {
+                        delete.executeUpdate("delete from \"" + table + "\"");
+                    }
+                    rows += copyTable(connection, table);
+                }
+                replica.commit();
+            } catch (SQLException | RuntimeException e) {
+                replica.rollback();
+                throw e;
+            } finally {
+                connection.rollback();
+            }
+        }
+        log.debug("Copied {} rows to the local replica in {} ms", rows, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private long copyTable(Connection connection, String table) throws SQLException {
+        long rows = 0;
+        try (Statement select = connection.createStatement()) {
+            select.setFetchSize(INSERT_BATCH_SIZE);
+            try (ResultSet rs = select.executeQuery("select * from \"" + table + "\"")) {
+                ResultSetMetaData columns = rs.getMetaData();
+                StringBuilder sql = new StringBuilder("insert into \"").append(table).append("\" values (");
+                for (int column = 1; column <= columns.getColumnCount(); column++) {
+                    sql.append(column == 1 ? "?" : ", ?");
+                }
+                try (PreparedStatement insert = replica.prepareStatement(sql.append(')').toString())) {
+                    while (rs.next()) {
+                        for (int column = 1; column <= columns.getColumnCount(); column++) {
+                            insert.setObject(column, rs.getObject(column));
+                        }
+                        insert.addBatch();
+                        if (++rows % INSERT_BATCH_SIZE == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                    insert.executeBatch();
+                }
+            }
+        }
+        return rows;
+    }
+}
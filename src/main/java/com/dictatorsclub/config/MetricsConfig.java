@@ -0,0 +1,33 @@
+package com.dictatorsclub.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatedStatementThreshold;
+
+    public MetricsConfig(MeterRegistry meterRegistry,
+                         @Value("${dictators-club.metrics.repeated-statement-threshold:10}") int repeatedStatementThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerMetricsInterceptor(meterRegistry, repeatedStatementThreshold));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingInspector());
+    }
+}
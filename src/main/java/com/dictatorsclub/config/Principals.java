@@ -0,0 +1,31 @@
+package com.dictatorsclub.config;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Maps an authenticated caller to the username used for ownership checks and per-principal limits.
+ */
+public final class Principals {
+
+    private Principals() {
+    }
+
+    public static String usernameOf(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof Jwt jwt) {
+            // Extract username from JWT token (adjust claim name as needed)
+            return jwt.getClaimAsString("preferred_username"); // or "sub" or whatever your OIDC provider uses
+        }
+        return authentication.getName();
+    }
+
+    // Null for anonymous requests, which are identified by client address instead
+    public static String usernameOrNull(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return usernameOf(authentication);
+    }
+}
@@ -0,0 +1,65 @@
+package com.dictatorsclub.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a scope is open.
+ * Statements are counted by their text; with bind parameters the text of one query is stable,
+ * so a statement repeated many times within one request is the signature of an N+1 fetch.
+ */
+public class QueryCountingInspector implements StatementInspector {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    static Scope open() {
+        Scope scope = new Scope();
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static Scope current() {
+        return CURRENT.get();
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.record(sql);
+        }
+        return sql;
+    }
+
+    static final class Scope {
+
+        private final Map<String, Integer> statements = new HashMap<>();
+        private int total;
+
+        private void record(String sql) {
+            total++;
+            statements.merge(sql, 1, Integer::sum);
+        }
+
+        int total() {
+            return total;
+        }
+
+        // The statement executed most often, or null if none ran
+        Map.Entry<String, Integer> mostRepeated() {
+            Map.Entry<String, Integer> top = null;
+            for (Map.Entry<String, Integer> entry : statements.entrySet()) {
+                if (top == null || entry.getValue() > top.getValue()) {
+                    top = entry;
+                }
+            }
+            return top;
+        }
+    }
+}
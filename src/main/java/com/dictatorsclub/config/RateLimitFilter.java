@@ -0,0 +1,84 @@
+package com.dictatorsclub.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-caller request rate limit. Authenticated requests draw from a bucket per username, anonymous
+ * reads from a bucket per client address, so one noisy client is turned away with 429 before it
+ * reaches the connection pool that every other caller shares.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final Cache<String, TokenBucket> buckets;
+    private final double principalRate;
+    private final int principalBurst;
+    private final double addressRate;
+    private final int addressBurst;
+    private final Counter principalThrottled;
+    private final Counter addressThrottled;
+
+    public RateLimitFilter(double principalRate, int principalBurst, double addressRate, int addressBurst,
+                           int maxTrackedCallers, MeterRegistry meterRegistry) {
+        this.principalRate = principalRate;
+        this.principalBurst = principalBurst;
+        this.addressRate = addressRate;
+        this.addressBurst = addressBurst;
+        // Once a bucket has been idle long enough to refill it can be dropped and recreated full
+        Duration refill = Duration.ofNanos((long) (1_000_000_000L
+            * Math.max(principalBurst / principalRate, addressBurst / addressRate)));
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maxTrackedCallers)
+            .expireAfterAccess(refill.plusSeconds(1))
+            .build();
+        Gauge.builder("dictators.admission.callers", buckets, Cache::estimatedSize).register(meterRegistry);
+        this.principalThrottled = Counter.builder("dictators.admission.throttled").tag("caller", "principal")
+            .register(meterRegistry);
+        this.addressThrottled = Counter.builder("dictators.admission.throttled").tag("caller", "address")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getServletPath().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String username = Principals.usernameOrNull(SecurityContextHolder.getContext().getAuthentication());
+        long now = System.nanoTime();
+        long waitNanos;
+        if (username != null) {
+            waitNanos = buckets.get("user:" + username, key -> new TokenBucket(principalRate, principalBurst, now))
+                .tryAcquire(now);
+        } else {
+            waitNanos = buckets.get("addr:" + request.getRemoteAddr(),
+                key -> new TokenBucket(addressRate, addressBurst, now)).tryAcquire(now);
+        }
+        if (waitNanos > 0) {
+            (username != null ? principalThrottled : addressThrottled).increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L))));
+            response.getWriter().write("Too many requests, retry later");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,73 @@
+package com.dictatorsclub.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to the replicas, round robin, and everything else to the
+ * primary. Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only set once the
+ * transaction has begun, so the physical connection has to be fetched at the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+
+    private final int replicaCount;
+    private final ReadYourWrites readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<? extends DataSource> replicas,
+                                      ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+        this.replicaCount = replicas.size();
+        this.readYourWrites = readYourWrites;
+        this.primaryConnections = Counter.builder("dictators.datasource.connections").tag("target", "primary")
+            .register(meterRegistry);
+        this.replicaConnections = Counter.builder("dictators.datasource.connections").tag("target", "replica")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String username = Principals.usernameOrNull(SecurityContextHolder.getContext().getAuthentication());
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (username != null && readYourWrites != null
+                    && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWrites.recordWrite(username);
+                    }
+                });
+            }
+            primaryConnections.increment();
+            return PRIMARY;
+        }
+        if (replicaCount == 0 || (username != null && readYourWrites != null
+                && readYourWrites.wroteRecently(username))) {
+            primaryConnections.increment();
+            return PRIMARY;
+        }
+        replicaConnections.increment();
+        return Math.floorMod(next.getAndIncrement(), replicaCount);
+    }
+}
@@ -0,0 +1,30 @@
+package com.dictatorsclub.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users committed a write recently. Their read-only transactions stay on the primary
+ * until the window has passed, so they never read a replica that has not caught up with their change.
+ */
+public class ReadYourWrites {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(Duration window, int maxTrackedUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+            .maximumSize(maxTrackedUsers)
+            .expireAfterWrite(window)
+            .build();
+    }
+
+    public void recordWrite(String username) {
+        recentWriters.put(username, Boolean.TRUE);
+    }
+
+    public boolean wroteRecently(String username) {
+        return recentWriters.getIfPresent(username) != null;
+    }
+}
@@ -0,0 +1,95 @@
+package com.dictatorsclub.config;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * JWK set that is fetched eagerly and refreshed on a background thread. Request threads only ever
+ * read the last fetched set; an unknown key id schedules an early refresh instead of blocking. Early
+ * refreshes are at least minRefreshInterval after the last fetch, so a stream of tokens with made-up key
+ * ids cannot keep the issuer busy.
+ */
+public class RefreshingJwkSource implements JWKSource<SecurityContext>, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshingJwkSource.class);
+    private static final int TIMEOUT_MILLIS = 5000;
+    private static final int SIZE_LIMIT_BYTES = 512 * 1024;
+
+    private final URL jwkSetUrl;
+    private final Duration refreshInterval;
+    private final long minRefreshNanos;
+    private volatile long lastFetchNanos;
+    private final AtomicReference<JWKSet> current = new AtomicReference<>();
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jwk-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RefreshingJwkSource(URL jwkSetUrl, Duration refreshInterval, Duration minRefreshInterval) {
+        this.jwkSetUrl = jwkSetUrl;
+        this.refreshInterval = refreshInterval;
+        this.minRefreshNanos = minRefreshInterval.toNanos();
+        this.lastFetchNanos = System.nanoTime() - minRefreshNanos;
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        JWKSet jwkSet = current.get();
+        List<JWK> matches = jwkSet == null ? List.of() : jwkSelector.select(jwkSet);
+        if (matches.isEmpty()) {
+            // Possibly a rotated key; fetch ahead of the schedule but never on this thread
+            requestRefresh();
+        }
+        return matches;
+    }
+
+    private void requestRefresh() {
+        if (System.nanoTime() - lastFetchNanos < minRefreshNanos) {
+            return;
+        }
+        if (refreshPending.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                try {
+                    refresh();
+                } finally {
+                    refreshPending.set(false);
+                }
+            });
+        }
+    }
+
+    private void refresh() {
+        lastFetchNanos = System.nanoTime();
+        try {
+            current.set(JWKSet.load(jwkSetUrl, TIMEOUT_MILLIS, TIMEOUT_MILLIS, SIZE_LIMIT_BYTES));
+            log.debug("Refreshed JWK set from {}", jwkSetUrl);
+        } catch (Exception e) {
+            log.warn("Failed to refresh JWK set from {}: {}", jwkSetUrl, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -1,10 +1,12 @@
 package com.dictatorsclub.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -17,7 +19,9 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, ObjectProvider<RateLimitFilter> rateLimitFilter,
+                                           ObjectProvider<ConcurrencyLimitFilter> concurrencyLimitFilter)
+            throws Exception {
         http.csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -26,13 +30,23 @@ public class SecurityConfig {
                 .requestMatchers("/api/dictators").permitAll() // GET all dictators - public read
                 .requestMatchers("/api/dictators/*/achievements").permitAll() // GET achievements - public read
                 .requestMatchers("/api/achievements").permitAll() // GET all achievements - public read
+                .requestMatchers("/api/achievements/batch").permitAll() // GET achievements by id list - public read
+                .requestMatchers("/api/achievements/timeline").permitAll() // GET achievements by year range - public read
                 .requestMatchers("/api/dictators/*").permitAll() // GET specific dictator - public read
+                .requestMatchers("/api/search").permitAll() // Full-text search - public read
+                .requestMatchers("/api/stats/**").permitAll() // Aggregate stats - public read
+                .requestMatchers("/api/changes").permitAll() // Change feed (SSE) - public read
                 .requestMatchers("/api/init/**").permitAll() // Data initialization endpoints
                 .anyRequest().authenticated()
             )
             .headers(headers -> headers.frameOptions().disable()) // For H2 console
             .oauth2ResourceServer(oauth2 -> oauth2.jwt()); // Use OIDC JWT validation
 
+        // Admission runs once the bearer token has identified the caller: per-caller rate first, then the global limit
+        rateLimitFilter.ifAvailable(filter -> http.addFilterAfter(filter, BearerTokenAuthenticationFilter.class));
+        concurrencyLimitFilter.ifAvailable(filter -> http.addFilterAfter(filter, rateLimitFilter.getIfAvailable() == null
+            ? BearerTokenAuthenticationFilter.class : RateLimitFilter.class));
+
         return http.build();
     }
 
@@ -0,0 +1,42 @@
+package com.dictatorsclub.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Instead of a token count it keeps the time at which the bucket will be full
+ * again (the generic cell rate algorithm), so taking a token is a single compare-and-set on one long
+ * and refilling needs no background work.
+ */
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(double tokensPerSecond, int burst, long nowNanos) {
+        if (tokensPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = nanosPerToken * burst;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token. Returns 0 when it was granted, otherwise the nanoseconds until one is available.
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            // An idle bucket refills to the burst size, never beyond it
+            long next = Math.max(current, nowNanos) + nanosPerToken;
+            long debt = next - nowNanos;
+            if (debt > burstNanos) {
+                return debt - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
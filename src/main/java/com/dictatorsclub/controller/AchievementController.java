@@ -1,15 +1,22 @@
 package com.dictatorsclub.controller;
 
+import com.dictatorsclub.config.Principals;
+import com.dictatorsclub.dto.AchievementDto;
+import com.dictatorsclub.dto.CursorPage;
+import com.dictatorsclub.dto.ResourceVersion;
 import com.dictatorsclub.model.Achievement;
 import com.dictatorsclub.model.Dictator;
 import com.dictatorsclub.service.AchievementService;
 import com.dictatorsclub.service.DictatorService;
+import com.dictatorsclub.service.PageCursor;
+import com.dictatorsclub.service.TimelineService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
@@ -18,31 +25,92 @@ public class AchievementController {
 
     private final AchievementService achievementService;
     private final DictatorService dictatorService;
+    private final TimelineService timelineService;
 
-    public AchievementController(AchievementService achievementService, DictatorService dictatorService) {
+    public AchievementController(AchievementService achievementService, DictatorService dictatorService,
+                                 TimelineService timelineService) {
         this.achievementService = achievementService;
         this.dictatorService = dictatorService;
+        this.timelineService = timelineService;
     }
 
     @GetMapping("/dictators/{dictatorId}/achievements")
-    public ResponseEntity<List<Achievement>> getAchievementsByDictator(@PathVariable Long dictatorId) {
-        List<Achievement> achievements = achievementService.findByDictatorId(dictatorId);
-        return ResponseEntity.ok(achievements);
+    public ResponseEntity<?> getAchievementsByDictator(@PathVariable Long dictatorId,
+                                                       @RequestParam(required = false) String fields,
+                                                       WebRequest request) {
+        if (fields != null) {
+            try {
+                ResourceVersion version = achievementService.findVersionByDictatorId(dictatorId);
+                if (ConditionalRequests.isConditional(request) && ConditionalRequests.notModified(request, version)) {
+                    return null;
+                }
+                return ConditionalRequests.ok(achievementService.findFieldsByDictatorId(dictatorId, fields), version);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+        if (ConditionalRequests.isConditional(request)
+                && ConditionalRequests.notModified(request, achievementService.findVersionByDictatorId(dictatorId))) {
+            return null;
+        }
+        List<AchievementDto> achievements = achievementService.findViewsByDictatorId(dictatorId);
+        return ConditionalRequests.ok(achievements, ResourceVersion.of(achievements));
     }
 
     @GetMapping("/achievements")
-    public ResponseEntity<List<Achievement>> getAllAchievements() {
-        List<Achievement> achievements = achievementService.findAll();
-        return ResponseEntity.ok(achievements);
+    public ResponseEntity<?> getAllAchievements(@RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "id") String sort,
+                                                @RequestParam(defaultValue = "50") int limit,
+                                                @RequestParam(required = false) String fields) {
+        try {
+            if (fields != null) {
+                return ResponseEntity.ok(achievementService.findFieldsPage(cursor, PageCursor.Sort.fromParam(sort),
+                    limit, fields));
+            }
+            CursorPage<Achievement> page = achievementService.findPage(cursor, PageCursor.Sort.fromParam(sort), limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/achievements/batch")
+    public ResponseEntity<?> getAchievementsBatch(@RequestParam List<Long> ids) {
+        try {
+            return ResponseEntity.ok(achievementService.findViewsByIds(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Achievements dated from..to inclusive, ordered by year then id, optionally for one dictator country
+    @GetMapping("/achievements/timeline")
+    public ResponseEntity<?> getTimeline(@RequestParam int from, @RequestParam int to,
+                                         @RequestParam(required = false) String country,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(timelineService.findTimeline(from, to, country, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/achievements/{id}")
-    public ResponseEntity<Achievement> getAchievementById(@PathVariable Long id) {
-        Achievement achievement = achievementService.findById(id);
+    public ResponseEntity<?> getAchievementById(@PathVariable Long id, @RequestParam(required = false) String fields,
+                                                WebRequest request) {
+        if (fields != null) {
+            return fieldsById(id, fields, request);
+        }
+        if (ConditionalRequests.isConditional(request)
+                && ConditionalRequests.notModified(request, achievementService.findVersion(id))) {
+            return null;
+        }
+        AchievementDto achievement = achievementService.findViewById(id);
         if (achievement == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(achievement);
+        return ConditionalRequests.ok(achievement, ResourceVersion.of(achievement));
     }
 
     @PostMapping("/dictators/{dictatorId}/achievements")
@@ -51,16 +119,13 @@ public class AchievementController {
             return ResponseEntity.status(401).body("Authentication required");
         }
 
-        String currentUsername = getUsernameFromAuth(authentication);
+        String currentUsername = Principals.usernameOf(authentication);
         if (!dictatorService.isOwner(currentUsername, dictatorId)) {
             return ResponseEntity.status(403).body("You can only add achievements to your own profile");
         }
 
-        Dictator dictator = dictatorService.findById(dictatorId);
-        if (dictator == null) {
-            return ResponseEntity.notFound().build();
-        }
-
+        // The ownership check proved the dictator exists, so a reference is enough to link it
+        Dictator dictator = dictatorService.getReference(dictatorId);
         achievement.setDictator(dictator);
         Achievement savedAchievement = achievementService.save(achievement);
         return ResponseEntity.ok(savedAchievement);
@@ -72,21 +137,15 @@ public class AchievementController {
             return ResponseEntity.status(401).body("Authentication required");
         }
 
-        String currentUsername = getUsernameFromAuth(authentication);
+        String currentUsername = Principals.usernameOf(authentication);
         if (!achievementService.isOwner(currentUsername, id)) {
             return ResponseEntity.status(403).body("You can only edit your own achievements");
         }
 
-        Achievement existingAchievement = achievementService.findById(id);
-        if (existingAchievement == null) {
+        Achievement savedAchievement = achievementService.update(id, updatedAchievement);
+        if (savedAchievement == null) {
             return ResponseEntity.notFound().build();
         }
-
-        existingAchievement.setTitle(updatedAchievement.getTitle());
-        existingAchievement.setDescription(updatedAchievement.getDescription());
-        existingAchievement.setYear(updatedAchievement.getYear());
-
-        Achievement savedAchievement = achievementService.save(existingAchievement);
         return ResponseEntity.ok(savedAchievement);
     }
 
@@ -96,25 +155,33 @@ public class AchievementController {
             return ResponseEntity.status(401).body("Authentication required");
         }
 
-        String currentUsername = getUsernameFromAuth(authentication);
+        String currentUsername = Principals.usernameOf(authentication);
         if (!achievementService.isOwner(currentUsername, id)) {
             return ResponseEntity.status(403).body("You can only delete your own achievements");
         }
 
-        Achievement achievement = achievementService.findById(id);
-        if (achievement == null) {
+        if (!achievementService.deleteById(id)) {
             return ResponseEntity.notFound().build();
         }
-
-        achievementService.deleteById(id);
         return ResponseEntity.ok().body("Achievement deleted successfully");
     }
 
-    private String getUsernameFromAuth(Authentication authentication) {
-        if (authentication.getPrincipal() instanceof Jwt jwt) {
-            // Extract username from JWT token (adjust claim name as needed)
-            return jwt.getClaimAsString("preferred_username"); // or "sub" or whatever your OIDC provider uses
+    private ResponseEntity<?> fieldsById(Long id, String fields, WebRequest request) {
+        try {
+            ResourceVersion version = achievementService.findVersion(id);
+            if (version == null) {
+                return ResponseEntity.notFound().build();
+            }
+            if (ConditionalRequests.isConditional(request) && ConditionalRequests.notModified(request, version)) {
+                return null;
+            }
+            Map<String, Object> achievement = achievementService.findFieldsById(id, fields);
+            if (achievement == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ConditionalRequests.ok(achievement, version);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
-        return authentication.getName();
     }
 }
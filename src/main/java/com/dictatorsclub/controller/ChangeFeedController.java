@@ -0,0 +1,25 @@
+package com.dictatorsclub.controller;
+
+import com.dictatorsclub.service.ChangeFeedService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+@CrossOrigin(origins = "*")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    // Browsers resend the last seen id as Last-Event-ID on reconnect; other clients may pass it as a parameter
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                                @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        return changeFeedService.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam);
+    }
+}
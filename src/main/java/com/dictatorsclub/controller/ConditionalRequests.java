@@ -0,0 +1,34 @@
+package com.dictatorsclub.controller;
+
+import com.dictatorsclub.dto.ResourceVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+            || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    // Marks the response 304 when the client's validators still match; the caller then returns null
+    static boolean notModified(WebRequest request, ResourceVersion current) {
+        return current != null && request.checkNotModified(current.etag(), current.lastModifiedMillis());
+    }
+
+    // no-cache lets clients store the body but revalidate it on every use
+    static <T> ResponseEntity<T> ok(T body, ResourceVersion version) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .eTag(version.etag());
+        if (version.lastModifiedMillis() > 0) {
+            builder.lastModified(version.lastModifiedMillis());
+        }
+        return builder.body(body);
+    }
+}
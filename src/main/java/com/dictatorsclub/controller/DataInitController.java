@@ -1,13 +1,17 @@
 package com.dictatorsclub.controller;
 
+import com.dictatorsclub.dto.BulkIngestResult;
 import com.dictatorsclub.model.Achievement;
 import com.dictatorsclub.model.Dictator;
 import com.dictatorsclub.service.AchievementService;
+import com.dictatorsclub.service.BulkIngestService;
 import com.dictatorsclub.service.DictatorService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -17,10 +21,13 @@ public class DataInitController {
 
     private final DictatorService dictatorService;
     private final AchievementService achievementService;
+    private final BulkIngestService bulkIngestService;
 
-    public DataInitController(DictatorService dictatorService, AchievementService achievementService) {
+    public DataInitController(DictatorService dictatorService, AchievementService achievementService,
+                              BulkIngestService bulkIngestService) {
         this.dictatorService = dictatorService;
         this.achievementService = achievementService;
+        this.bulkIngestService = bulkIngestService;
     }
 
     @PostMapping("/dictator")
@@ -53,6 +60,17 @@ public class DataInitController {
         }
     }
 
+    // Accepts a JSON array or newline-delimited JSON of dictators with nested achievements
+    @PostMapping(value = "/bulk", consumes = {"application/json", "application/x-ndjson"})
+    public ResponseEntity<?> bulkIngest(InputStream body) {
+        try {
+            BulkIngestResult result = bulkIngestService.ingest(body);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to ingest data: " + e.getMessage());
+        }
+    }
+
     @PostMapping("/sample-data")
     public ResponseEntity<?> initializeSampleData() {
         try {
@@ -72,8 +90,7 @@ public class DataInitController {
                     "Successfully conquered and controlled most of continental Europe through military campaigns", 1807, napoleon);
                 Achievement napoleonAch2 = new Achievement("Napoleonic Code", 
                     "Created the Napoleonic Code, a civil code that influenced legal systems worldwide", 1804, napoleon);
-                achievementService.save(napoleonAch1);
-                achievementService.save(napoleonAch2);
+                achievementService.saveAll(List.of(napoleonAch1, napoleonAch2));
                 achievementsCreated += 2;
             }
 
@@ -89,8 +106,7 @@ public class DataInitController {
                     "Made the famous decision to cross the Rubicon river, starting a civil war that led to his rise to power", 49, caesar);
                 Achievement caesarAch2 = new Achievement("Conquered Gaul", 
                     "Successfully conquered all of Gaul (modern-day France) in the Gallic Wars", 50, caesar);
-                achievementService.save(caesarAch1);
-                achievementService.save(caesarAch2);
+                achievementService.saveAll(List.of(caesarAch1, caesarAch2));
                 achievementsCreated += 2;
             }
 
@@ -106,16 +122,15 @@ public class DataInitController {
                     "Built the Mongol Empire, the largest contiguous land empire in history", 1220, genghis);
                 Achievement genghisAch2 = new Achievement("United the Mongol tribes", 
                     "Successfully united the warring Mongol tribes under his leadership", 1206, genghis);
-                achievementService.save(genghisAch1);
-                achievementService.save(genghisAch2);
+                achievementService.saveAll(List.of(genghisAch1, genghisAch2));
                 achievementsCreated += 2;
             }
 
             result.put("message", "Sample data initialization completed");
             result.put("dictatorsCreated", dictatorsCreated);
             result.put("achievementsCreated", achievementsCreated);
-            result.put("totalDictators", dictatorService.findAll().size());
-            result.put("totalAchievements", achievementService.findAll().size());
+            result.put("totalDictators", dictatorService.count());
+            result.put("totalAchievements", achievementService.count());
 
             return ResponseEntity.ok(result);
         } catch (Exception e) {
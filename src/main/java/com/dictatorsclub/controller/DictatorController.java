@@ -1,13 +1,22 @@
 package com.dictatorsclub.controller;
 
+import com.dictatorsclub.config.Principals;
+import com.dictatorsclub.dto.CursorPage;
+import com.dictatorsclub.dto.DeletionJob;
+import com.dictatorsclub.dto.DictatorDto;
+import com.dictatorsclub.dto.ResourceVersion;
 import com.dictatorsclub.model.Dictator;
+import com.dictatorsclub.service.DictatorDeletionService;
 import com.dictatorsclub.service.DictatorService;
+import com.dictatorsclub.service.PageCursor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/dictators")
@@ -15,33 +24,94 @@ import java.util.List;
 public class DictatorController {
 
     private final DictatorService dictatorService;
+    private final DictatorDeletionService deletionService;
 
-    public DictatorController(DictatorService dictatorService) {
+    public DictatorController(DictatorService dictatorService, DictatorDeletionService deletionService) {
         this.dictatorService = dictatorService;
+        this.deletionService = deletionService;
     }
 
     @GetMapping
-    public ResponseEntity<List<Dictator>> getAllDictators() {
-        List<Dictator> dictators = dictatorService.findAll();
-        return ResponseEntity.ok(dictators);
+    public ResponseEntity<?> getAllDictators(@RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "id") String sort,
+                                             @RequestParam(defaultValue = "50") int limit,
+                                             @RequestParam(required = false) String include,
+                                             @RequestParam(required = false) String fields) {
+        try {
+            if (fields != null) {
+                if (include != null) {
+                    throw new IllegalArgumentException("fields cannot be combined with include");
+                }
+                return ResponseEntity.ok(dictatorService.findFieldsPage(cursor, PageCursor.Sort.fromParam(sort), limit,
+                    fields));
+            }
+            CursorPage<Dictator> page = dictatorService.findPage(cursor, PageCursor.Sort.fromParam(sort), limit,
+                includesAchievements(include));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // One round trip for a feed's worth of profiles: ?ids=1,2,3 or ?usernames=a,b
+    @GetMapping("/batch")
+    public ResponseEntity<?> getDictatorsBatch(@RequestParam(required = false) List<Long> ids,
+                                               @RequestParam(required = false) List<String> usernames) {
+        try {
+            if ((ids == null) == (usernames == null)) {
+                throw new IllegalArgumentException("Exactly one of ids or usernames is required");
+            }
+            return ResponseEntity.ok(ids != null
+                ? dictatorService.findViewsByIds(ids)
+                : dictatorService.findViewsByUsernames(usernames));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Dictator> getDictatorById(@PathVariable Long id) {
-        Dictator dictator = dictatorService.findById(id);
-        if (dictator == null) {
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<?> getDictatorById(@PathVariable Long id, @RequestParam(required = false) String include,
+                                             @RequestParam(required = false) String fields, WebRequest request) {
+        try {
+            if (fields != null) {
+                if (include != null) {
+                    throw new IllegalArgumentException("fields cannot be combined with include");
+                }
+                return fieldsById(id, fields, request);
+            }
+            boolean withAchievements = includesAchievements(include);
+            if (ConditionalRequests.isConditional(request)
+                    && ConditionalRequests.notModified(request, dictatorService.findVersion(id, withAchievements))) {
+                return null;
+            }
+            DictatorDto dictator = dictatorService.findViewById(id, withAchievements);
+            if (dictator == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ConditionalRequests.ok(dictator, ResourceVersion.of(dictator));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
-        return ResponseEntity.ok(dictator);
     }
 
     @GetMapping("/username/{username}")
-    public ResponseEntity<Dictator> getDictatorByUsername(@PathVariable String username) {
-        Dictator dictator = dictatorService.findByUsername(username);
-        if (dictator == null) {
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<?> getDictatorByUsername(@PathVariable String username,
+                                                   @RequestParam(required = false) String include,
+                                                   WebRequest request) {
+        try {
+            boolean withAchievements = includesAchievements(include);
+            if (ConditionalRequests.isConditional(request) && ConditionalRequests.notModified(request,
+                    dictatorService.findVersionByUsername(username, withAchievements))) {
+                return null;
+            }
+            DictatorDto dictator = dictatorService.findViewByUsername(username, withAchievements);
+            if (dictator == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ConditionalRequests.ok(dictator, ResourceVersion.of(dictator));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
-        return ResponseEntity.ok(dictator);
     }
 
     @PutMapping("/{id}")
@@ -50,51 +120,76 @@ public class DictatorController {
             return ResponseEntity.status(401).body("Authentication required");
         }
 
-        String currentUsername = getUsernameFromAuth(authentication);
+        String currentUsername = Principals.usernameOf(authentication);
         if (!dictatorService.isOwner(currentUsername, id)) {
             return ResponseEntity.status(403).body("You can only edit your own profile");
         }
 
-        Dictator existingDictator = dictatorService.findById(id);
-        if (existingDictator == null) {
+        Dictator savedDictator = dictatorService.update(id, updatedDictator);
+        if (savedDictator == null) {
             return ResponseEntity.notFound().build();
         }
-
-        // Update fields but keep username and timestamps
-        existingDictator.setName(updatedDictator.getName());
-        existingDictator.setCountry(updatedDictator.getCountry());
-        existingDictator.setDescription(updatedDictator.getDescription());
-        existingDictator.setYearsInPower(updatedDictator.getYearsInPower());
-
-        Dictator savedDictator = dictatorService.save(existingDictator);
         return ResponseEntity.ok(savedDictator);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteDictator(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<?> deleteDictator(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean async,
+                                            Authentication authentication) {
         if (authentication == null) {
             return ResponseEntity.status(401).body("Authentication required");
         }
 
-        String currentUsername = getUsernameFromAuth(authentication);
+        String currentUsername = Principals.usernameOf(authentication);
         if (!dictatorService.isOwner(currentUsername, id)) {
             return ResponseEntity.status(403).body("You can only delete your own profile");
         }
 
-        Dictator dictator = dictatorService.findById(id);
-        if (dictator == null) {
+        // Profiles with many achievements can be removed in the background; poll the Location for progress
+        if (async) {
+            DeletionJob job = deletionService.start(id, currentUsername);
+            return ResponseEntity.accepted().location(URI.create("/api/dictators/deletions/" + job.id())).body(job);
+        }
+        if (!dictatorService.deleteById(id)) {
             return ResponseEntity.notFound().build();
         }
-
-        dictatorService.deleteById(id);
         return ResponseEntity.ok().body("Dictator profile deleted successfully");
     }
 
-    private String getUsernameFromAuth(Authentication authentication) {
-        if (authentication.getPrincipal() instanceof Jwt jwt) {
-            // Extract username from JWT token (adjust claim name as needed)
-            return jwt.getClaimAsString("preferred_username"); // or "sub" or whatever your OIDC provider uses
+    @GetMapping("/deletions/{jobId}")
+    public ResponseEntity<?> getDeletion(@PathVariable String jobId, Authentication authentication) {
+        if (authentication == null) {
+            return ResponseEntity.status(401).body("Authentication required");
+        }
+        DeletionJob job = deletionService.find(jobId, Principals.usernameOf(authentication));
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
+    }
+
+    // A projected body carries the same validators as the full resource, so conditional requests still apply
+    private ResponseEntity<?> fieldsById(Long id, String fields, WebRequest request) {
+        ResourceVersion version = dictatorService.findVersion(id, false);
+        if (version == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (ConditionalRequests.isConditional(request) && ConditionalRequests.notModified(request, version)) {
+            return null;
+        }
+        Map<String, Object> dictator = dictatorService.findFieldsById(id, fields);
+        if (dictator == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ConditionalRequests.ok(dictator, version);
+    }
+
+    // Achievements are only serialized when requested with ?include=achievements
+    private boolean includesAchievements(String include) {
+        if (include == null || include.isBlank()) {
+            return false;
+        }
+        for (String part : include.split(",")) {
+            if (!part.trim().equals("achievements")) {
+                throw new IllegalArgumentException("Unsupported include '" + part.trim() + "'");
+            }
         }
-        return authentication.getName();
+        return true;
     }
 }
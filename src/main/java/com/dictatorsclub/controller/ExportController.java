@@ -0,0 +1,35 @@
+package com.dictatorsclub.controller;
+
+import com.dictatorsclub.service.ExportService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/export")
+@CrossOrigin(origins = "*")
+public class ExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/dictators")
+    public ResponseEntity<StreamingResponseBody> exportDictators() {
+        return ResponseEntity.ok()
+            .contentType(NDJSON)
+            .body(exportService::exportDictators);
+    }
+
+    @GetMapping("/achievements")
+    public ResponseEntity<StreamingResponseBody> exportAchievements() {
+        return ResponseEntity.ok()
+            .contentType(NDJSON)
+            .body(exportService::exportAchievements);
+    }
+}
@@ -0,0 +1,38 @@
+package com.dictatorsclub.controller;
+
+import com.dictatorsclub.event.ReadModelNotReadyException;
+import com.dictatorsclub.search.SearchHit;
+import com.dictatorsclub.service.SearchService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam String q,
+                                    @RequestParam(defaultValue = "all") String type,
+                                    @RequestParam(defaultValue = "20") int limit) {
+        try {
+            List<SearchHit> hits = searchService.search(q, type, Math.max(1, Math.min(limit, MAX_LIMIT)));
+            return ResponseEntity.ok(hits);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (ReadModelNotReadyException e) {
+            return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "1").body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.dictatorsclub.controller;
+
+import com.dictatorsclub.event.ReadModelNotReadyException;
+import com.dictatorsclub.service.AchievementStatsService;
+import com.dictatorsclub.service.LeaderboardService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/stats")
+@CrossOrigin(origins = "*")
+public class StatsController {
+
+    private final AchievementStatsService statsService;
+    private final LeaderboardService leaderboardService;
+
+    public StatsController(AchievementStatsService statsService, LeaderboardService leaderboardService) {
+        this.statsService = statsService;
+        this.leaderboardService = leaderboardService;
+    }
+
+    @GetMapping("/achievements/by-country")
+    public ResponseEntity<?> achievementsByCountry() {
+        try {
+            return ResponseEntity.ok(statsService.countByCountry());
+        } catch (ReadModelNotReadyException e) {
+            return notReady(e);
+        }
+    }
+
+    @GetMapping("/achievements/by-year")
+    public ResponseEntity<?> achievementsByYear(@RequestParam(defaultValue = "1") int bucketSize) {
+        try {
+            return ResponseEntity.ok(statsService.countByYear(bucketSize));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (ReadModelNotReadyException e) {
+            return notReady(e);
+        }
+    }
+
+    // Dictators with the most achievements, optionally within one country
+    @GetMapping("/leaderboard")
+    public ResponseEntity<?> leaderboard(@RequestParam(defaultValue = "10") int limit,
+                                         @RequestParam(required = false) String country) {
+        try {
+            return ResponseEntity.ok(leaderboardService.top(limit, country));
+        } catch (ReadModelNotReadyException e) {
+            return notReady(e);
+        }
+    }
+
+    private static ResponseEntity<?> notReady(ReadModelNotReadyException e) {
+        return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "1").body(e.getMessage());
+    }
+}
@@ -0,0 +1,14 @@
+package com.dictatorsclub.dto;
+
+import com.dictatorsclub.model.Achievement;
+import java.time.LocalDateTime;
+
+public record AchievementDto(Long id, Long dictatorId, String title, String description, Integer year,
+                             LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    public static AchievementDto from(Achievement achievement) {
+        return new AchievementDto(achievement.getId(), achievement.getDictator().getId(), achievement.getTitle(),
+            achievement.getDescription(), achievement.getYear(), achievement.getCreatedAt(),
+            achievement.getUpdatedAt());
+    }
+}
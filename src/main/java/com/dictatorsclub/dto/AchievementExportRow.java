@@ -0,0 +1,15 @@
+package com.dictatorsclub.dto;
+
+import com.dictatorsclub.model.Achievement;
+import java.time.LocalDateTime;
+
+public record AchievementExportRow(Long id, Long dictatorId, String dictatorUsername, String title,
+                                   String description, Integer year, LocalDateTime createdAt,
+                                   LocalDateTime updatedAt) {
+
+    public static AchievementExportRow from(Achievement achievement) {
+        return new AchievementExportRow(achievement.getId(), achievement.getDictator().getId(),
+            achievement.getDictator().getUsername(), achievement.getTitle(), achievement.getDescription(),
+            achievement.getYear(), achievement.getCreatedAt(), achievement.getUpdatedAt());
+    }
+}
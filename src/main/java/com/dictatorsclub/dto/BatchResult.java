@@ -0,0 +1,28 @@
+package com.dictatorsclub.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Batch lookup result: items follow the request order, with null where a requested key was not found.
+ */
+public record BatchResult<K, T>(List<T> items, List<K> missing) {
+
+    public static <K, T> BatchResult<K, T> of(List<K> requested, Map<K, T> found) {
+        List<T> items = new ArrayList<>(requested.size());
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : requested) {
+            T item = found.get(key);
+            items.add(item);
+            if (item == null) {
+                missing.add(key);
+            }
+        }
+        // Collections.unmodifiableList tolerates the null placeholders, unlike List.copyOf
+        return new BatchResult<>(Collections.unmodifiableList(items), List.copyOf(missing));
+    }
+}
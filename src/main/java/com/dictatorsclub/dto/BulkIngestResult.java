@@ -0,0 +1,5 @@
+package com.dictatorsclub.dto;
+
+public record BulkIngestResult(long dictatorsCreated, long achievementsCreated, long dictatorsSkipped,
+                               long elapsedMillis, long rowsPerSecond) {
+}
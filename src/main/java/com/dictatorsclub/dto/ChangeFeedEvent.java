@@ -0,0 +1,13 @@
+package com.dictatorsclub.dto;
+
+import com.dictatorsclub.event.ChangeType;
+
+// data is the DictatorDto or AchievementDto after the change, null for DELETED. A deleted dictator's
+// achievements are gone with it and get no events; an "achievements" event is a batch delete of a
+// dictator's achievements, with the dictator's id and the deleted ids as data
+public record ChangeFeedEvent(long sequence, String entity, ChangeType type, Long id, Object data) {
+
+    public static final String DICTATOR = "dictator";
+    public static final String ACHIEVEMENT = "achievement";
+    public static final String ACHIEVEMENTS = "achievements";
+}
@@ -0,0 +1,13 @@
+package com.dictatorsclub.dto;
+
+import java.time.Instant;
+
+/**
+ * Progress of an asynchronous dictator delete. achievementsTotal is counted when the job is accepted, so
+ * achievements added while it runs can push achievementsDeleted past it.
+ */
+public record DeletionJob(String id, Long dictatorId, State state, long achievementsTotal, long achievementsDeleted,
+                          Instant startedAt, Instant finishedAt, String error) {
+
+    public enum State { PENDING, RUNNING, COMPLETED, FAILED }
+}
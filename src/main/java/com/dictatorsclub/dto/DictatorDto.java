@@ -0,0 +1,26 @@
+package com.dictatorsclub.dto;
+
+import com.dictatorsclub.model.Dictator;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// achievements is null unless they were requested
+public record DictatorDto(Long id, String username, String name, String country, String description,
+                          String yearsInPower, LocalDateTime createdAt, LocalDateTime updatedAt,
+                          List<AchievementDto> achievements) {
+
+    public static DictatorDto from(Dictator dictator) {
+        return new DictatorDto(dictator.getId(), dictator.getUsername(), dictator.getName(), dictator.getCountry(),
+            dictator.getDescription(), dictator.getYearsInPower(), dictator.getCreatedAt(),
+            dictator.getUpdatedAt(), null);
+    }
+
+    public static List<AchievementDto> achievementsOf(Dictator dictator) {
+        return dictator.getAchievements().stream().map(AchievementDto::from).toList();
+    }
+
+    public DictatorDto withAchievements(List<AchievementDto> achievements) {
+        return new DictatorDto(id, username, name, country, description, yearsInPower, createdAt, updatedAt,
+            List.copyOf(achievements));
+    }
+}
@@ -0,0 +1,14 @@
+package com.dictatorsclub.dto;
+
+import com.dictatorsclub.model.Dictator;
+import java.time.LocalDateTime;
+
+public record DictatorExportRow(Long id, String username, String name, String country, String description,
+                                String yearsInPower, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    public static DictatorExportRow from(Dictator dictator) {
+        return new DictatorExportRow(dictator.getId(), dictator.getUsername(), dictator.getName(),
+            dictator.getCountry(), dictator.getDescription(), dictator.getYearsInPower(),
+            dictator.getCreatedAt(), dictator.getUpdatedAt());
+    }
+}
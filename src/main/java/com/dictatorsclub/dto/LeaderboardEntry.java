@@ -0,0 +1,5 @@
+package com.dictatorsclub.dto;
+
+public record LeaderboardEntry(int rank, Long dictatorId, String username, String name, String country,
+                               long achievements) {
+}
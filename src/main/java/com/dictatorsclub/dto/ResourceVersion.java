@@ -0,0 +1,54 @@
+package com.dictatorsclub.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Validator for conditional GETs: the newest updatedAt of a resource and, for resources that embed
+ * a collection, the number of children so that deletions also change the ETag.
+ */
+public record ResourceVersion(LocalDateTime lastModified, long children) {
+
+    public static final long NO_CHILDREN = -1;
+
+    public static ResourceVersion of(DictatorDto dictator) {
+        ResourceVersion version = new ResourceVersion(dictator.updatedAt(), NO_CHILDREN);
+        return dictator.achievements() == null ? version : version.combine(of(dictator.achievements()));
+    }
+
+    public static ResourceVersion of(AchievementDto achievement) {
+        return new ResourceVersion(achievement.updatedAt(), NO_CHILDREN);
+    }
+
+    public static ResourceVersion of(List<AchievementDto> achievements) {
+        LocalDateTime newest = null;
+        for (AchievementDto achievement : achievements) {
+            newest = newer(newest, achievement.updatedAt());
+        }
+        return new ResourceVersion(newest, achievements.size());
+    }
+
+    public ResourceVersion combine(ResourceVersion childVersion) {
+        return new ResourceVersion(newer(lastModified, childVersion.lastModified()), childVersion.children());
+    }
+
+    public String etag() {
+        long micros = lastModified == null
+            ? 0
+            : lastModified.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastModified.getNano() / 1_000;
+        return "W/\"" + Long.toHexString(micros) + (children == NO_CHILDREN ? "" : "-" + children) + "\"";
+    }
+
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime newer(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+}
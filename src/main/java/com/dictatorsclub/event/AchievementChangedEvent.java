@@ -0,0 +1,16 @@
+package com.dictatorsclub.event;
+
+import com.dictatorsclub.dto.AchievementDto;
+
+// achievement is null for DELETED
+public record AchievementChangedEvent(ChangeType type, Long id, AchievementDto achievement) {
+
+    public static AchievementChangedEvent saved(boolean created, AchievementDto achievement) {
+        return new AchievementChangedEvent(created ? ChangeType.CREATED : ChangeType.UPDATED, achievement.id(),
+            achievement);
+    }
+
+    public static AchievementChangedEvent deleted(Long id) {
+        return new AchievementChangedEvent(ChangeType.DELETED, id, null);
+    }
+}
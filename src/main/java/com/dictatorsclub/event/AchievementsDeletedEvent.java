@@ -0,0 +1,7 @@
+package com.dictatorsclub.event;
+
+import java.util.List;
+
+// One event for a set-based delete of some of a dictator's achievements, in place of one DELETED event each
+public record AchievementsDeletedEvent(Long dictatorId, List<Long> ids) {
+}
@@ -0,0 +1,7 @@
+package com.dictatorsclub.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,19 @@
+package com.dictatorsclub.event;
+
+import com.dictatorsclub.dto.DictatorDto;
+
+import java.util.List;
+
+// dictator is null for DELETED. A DELETED event also stands for all of the dictator's achievements, whose ids
+// are in achievementIds; they get no events of their own
+public record DictatorChangedEvent(ChangeType type, Long id, DictatorDto dictator, List<Long> achievementIds) {
+
+    public static DictatorChangedEvent saved(boolean created, DictatorDto dictator) {
+        return new DictatorChangedEvent(created ? ChangeType.CREATED : ChangeType.UPDATED, dictator.id(), dictator,
+            List.of());
+    }
+
+    public static DictatorChangedEvent deleted(Long id, List<Long> achievementIds) {
+        return new DictatorChangedEvent(ChangeType.DELETED, id, null, achievementIds);
+    }
+}
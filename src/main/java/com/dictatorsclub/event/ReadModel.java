@@ -0,0 +1,21 @@
+package com.dictatorsclub.event;
+
+/**
+ * In-memory view derived from the database. It is rebuilt once at startup by replaying every row as a
+ * CREATED event and is then kept current from the change events published by the services.
+ * Implementations are responsible for their own thread safety.
+ */
+public interface ReadModel {
+
+    void clear();
+
+    // Called once the startup replay has delivered every row
+    default void rebuilt() {
+    }
+
+    default void onDictatorChanged(DictatorChangedEvent event) {
+    }
+
+    default void onAchievementChanged(AchievementChangedEvent event) {
+    }
+}
@@ -0,0 +1,256 @@
+package com.dictatorsclub.event;
+
+import com.dictatorsclub.dto.AchievementDto;
+import com.dictatorsclub.dto.DictatorDto;
+import com.dictatorsclub.model.Achievement;
+import com.dictatorsclub.model.Dictator;
+import com.dictatorsclub.repository.AchievementRepository;
+import com.dictatorsclub.repository.DictatorRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Feeds change events to the read models. The startup rebuild runs as a lifecycle phase ahead of the
+ * embedded web server, after any snapshot restore, so no request sees a half-built model; events
+ * committed while the replay runs are held back and applied after it, so a delete that lands mid-replay
+ * cannot be undone by the row being streamed in afterwards.
+ * <p>
+ * Events are delivered on the committing threads, so two saves of one row can arrive out of order. Each
+ * id's events are applied one at a time, and a save older (by updatedAt) than the one already applied is
+ * dropped; so is any save after a delete, since ids are never reused.
+ */
+@Component
+public class ReadModelDispatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadModelDispatcher.class);
+    private static final int CLEAR_INTERVAL = 1000;
+    private static final int STRIPES = 64;
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final List<ReadModel> readModels;
+    private final DictatorRepository dictatorRepository;
+    private final AchievementRepository achievementRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    // Live events that arrive while a replay runs, null otherwise; guarded by replayLock
+    private final Object replayLock = new Object();
+    private List<Object> heldBack;
+    // updatedAt in epoch nanos of the last save applied per id, DELETED after a delete
+    private final Map<Long, Long> dictatorVersions = new ConcurrentHashMap<>();
+    private final Map<Long, Long> achievementVersions = new ConcurrentHashMap<>();
+    // A dictator's lock is taken before its achievements', never after
+    private final ReentrantLock[] dictatorStripes = new ReentrantLock[STRIPES];
+    private final ReentrantLock[] achievementStripes = new ReentrantLock[STRIPES];
+    private volatile boolean running;
+
+    public ReadModelDispatcher(List<ReadModel> readModels, DictatorRepository dictatorRepository,
+                               AchievementRepository achievementRepository, EntityManager entityManager,
+                               TransactionTemplate transactionTemplate) {
+        this.readModels = readModels;
+        this.dictatorRepository = dictatorRepository;
+        this.achievementRepository = achievementRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        for (int i = 0; i < STRIPES; i++) {
+            dictatorStripes[i] = new ReentrantLock();
+            achievementStripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Well below the web server's phase (Integer.MAX_VALUE - 2048), which starts accepting requests
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        synchronized (replayLock) {
+            heldBack = new ArrayList<>();
+        }
+        readModels.forEach(ReadModel::clear);
+        dictatorVersions.clear();
+        achievementVersions.clear();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        long[] rows = new long[2];
+        readOnly.executeWithoutResult(status -> {
+            // Dictators first so models can resolve an achievement's dictator
+            try (Stream<Dictator> dictators = dictatorRepository.streamAll()) {
+                rows[0] = replay(dictators, dictator -> apply(
+                    DictatorChangedEvent.saved(true, DictatorDto.from(dictator))));
+            }
+            try (Stream<Achievement> achievements = achievementRepository.streamAll()) {
+                rows[1] = replay(achievements, achievement -> apply(
+                    AchievementChangedEvent.saved(true, AchievementDto.from(achievement))));
+            }
+        });
+        int applied;
+        synchronized (replayLock) {
+            // Saves older than the streamed row are dropped and deletes of unknown ids are ignored, so replaying
+            // these after the stream is safe
+            applied = heldBack.size();
+            heldBack.forEach(this::apply);
+            heldBack = null;
+        }
+        readModels.forEach(ReadModel::rebuilt);
+        log.info("Rebuilt {} read models from {} dictators and {} achievements in {} ms ({} live events held back)",
+            readModels.size(), rows[0], rows[1], System.currentTimeMillis() - started, applied);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void dispatch(DictatorChangedEvent event) {
+        if (!holdBack(event)) {
+            apply(event);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void dispatch(AchievementChangedEvent event) {
+        if (!holdBack(event)) {
+            apply(event);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void dispatch(AchievementsDeletedEvent event) {
+        if (!holdBack(event)) {
+            apply(event);
+        }
+    }
+
+    private boolean holdBack(Object event) {
+        synchronized (replayLock) {
+            if (heldBack == null) {
+                return false;
+            }
+            heldBack.add(event);
+            return true;
+        }
+    }
+
+    private void apply(Object event) {
+        if (event instanceof DictatorChangedEvent dictatorEvent) {
+            apply(dictatorEvent);
+        } else if (event instanceof AchievementsDeletedEvent deletedEvent) {
+            apply(deletedEvent);
+        } else {
+            apply((AchievementChangedEvent) event);
+        }
+    }
+
+    // Read models see a cascade as its achievements' deletes followed by the dictator's own
+    private void apply(DictatorChangedEvent event) {
+        ReentrantLock lock = stripe(dictatorStripes, event.id());
+        lock.lock();
+        try {
+            if (!advance(dictatorVersions, event.id(), event.type(),
+                    event.dictator() == null ? null : event.dictator().updatedAt())) {
+                log.debug("Dropped out-of-order {}", event);
+                return;
+            }
+            event.achievementIds().forEach(id -> apply(AchievementChangedEvent.deleted(id)));
+            for (ReadModel readModel : readModels) {
+                try {
+                    readModel.onDictatorChanged(event);
+                } catch (RuntimeException e) {
+                    log.error("{} failed to apply {}", readModel.getClass().getSimpleName(), event, e);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(AchievementsDeletedEvent event) {
+        event.ids().forEach(id -> apply(AchievementChangedEvent.deleted(id)));
+    }
+
+    private void apply(AchievementChangedEvent event) {
+        ReentrantLock lock = stripe(achievementStripes, event.id());
+        lock.lock();
+        try {
+            if (!advance(achievementVersions, event.id(), event.type(),
+                    event.achievement() == null ? null : event.achievement().updatedAt())) {
+                log.debug("Dropped out-of-order {}", event);
+                return;
+            }
+            for (ReadModel readModel : readModels) {
+                try {
+                    readModel.onAchievementChanged(event);
+                } catch (RuntimeException e) {
+                    log.error("{} failed to apply {}", readModel.getClass().getSimpleName(), event, e);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Records the event's version and tells whether to apply it; a save without updatedAt is applied unless the
+    // id was deleted. Caller holds the id's stripe lock
+    private static boolean advance(Map<Long, Long> versions, Long id, ChangeType type, LocalDateTime updatedAt) {
+        if (type == ChangeType.DELETED) {
+            versions.put(id, DELETED);
+            return true;
+        }
+        Long applied = versions.get(id);
+        if (updatedAt == null) {
+            return applied == null || applied != DELETED;
+        }
+        long version = updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + updatedAt.getNano();
+        if (applied != null && version < applied) {
+            return false;
+        }
+        versions.put(id, version);
+        return true;
+    }
+
+    private static ReentrantLock stripe(ReentrantLock[] stripes, Long id) {
+        return stripes[Math.floorMod(Long.hashCode(id), STRIPES)];
+    }
+
+    private <E> long replay(Stream<E> rows, Consumer<E> consumer) {
+        long count = 0;
+        Iterator<E> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            consumer.accept(iterator.next());
+            if (++count % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+            }
+        }
+        return count;
+    }
+}
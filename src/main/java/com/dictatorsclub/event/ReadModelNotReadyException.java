@@ -0,0 +1,9 @@
+package com.dictatorsclub.event;
+
+// Thrown by read model queries between clear() and rebuilt(); controllers answer 503
+public class ReadModelNotReadyException extends RuntimeException {
+
+    public ReadModelNotReadyException(String readModel) {
+        super(readModel + " is being rebuilt, retry shortly");
+    }
+}
@@ -0,0 +1,33 @@
+package com.dictatorsclub.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Passes one in {@code rate} events below WARN, counted per logger so a chatty logger cannot crowd
+ * out the others. The first event of every logger is always kept; WARN and ERROR are never dropped.
+ */
+public class SamplingFilter extends Filter<ILoggingEvent> {
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private int rate = 1;
+
+    public void setRate(int rate) {
+        this.rate = Math.max(1, rate);
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (rate == 1 || event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        long count = counters.computeIfAbsent(event.getLoggerName(), name -> new AtomicLong()).getAndIncrement();
+        return count % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
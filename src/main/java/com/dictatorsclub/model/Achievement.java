@@ -5,10 +5,15 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "achievements")
+@Table(name = "achievements", indexes = {
+    @Index(name = "idx_achievements_dictator_id", columnList = "dictator_id"),
+    @Index(name = "idx_achievements_dictator_year", columnList = "dictator_id, achievement_year"),
+    @Index(name = "idx_achievements_updated_at", columnList = "updated_at, id")
+})
 public class Achievement {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "achievements_seq")
+    @SequenceGenerator(name = "achievements_seq", sequenceName = "achievements_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
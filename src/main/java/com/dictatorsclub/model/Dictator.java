@@ -6,10 +6,13 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "dictators")
+@Table(name = "dictators", indexes = {
+    @Index(name = "idx_dictators_updated_at", columnList = "updated_at, id")
+})
 public class Dictator {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dictators_seq")
+    @SequenceGenerator(name = "dictators_seq", sequenceName = "dictators_seq", allocationSize = 50)
     private Long id;
     
     @Column(unique = true, nullable = false)
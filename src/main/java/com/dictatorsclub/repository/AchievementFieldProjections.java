@@ -0,0 +1,23 @@
+package com.dictatorsclub.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse-fieldset reads of achievements: only the requested columns are selected.
+ */
+public interface AchievementFieldProjections {
+
+    Set<String> ACHIEVEMENT_FIELDS = Set.of("id", "dictatorId", "title", "description", "year", "createdAt",
+        "updatedAt");
+
+    // Rows also hold id and the sort field, for building the next cursor
+    List<Map<String, Object>> findFieldsPage(Collection<String> fields, String sortField, Object afterValue,
+                                             Long afterId, int limit);
+
+    List<Map<String, Object>> findFieldsById(Long id, Collection<String> fields);
+
+    List<Map<String, Object>> findFieldsByDictatorId(Long dictatorId, Collection<String> fields);
+}
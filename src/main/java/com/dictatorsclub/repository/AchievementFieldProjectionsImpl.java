@@ -0,0 +1,40 @@
+package com.dictatorsclub.repository;
+
+import com.dictatorsclub.model.Achievement;
+import jakarta.persistence.EntityManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+class AchievementFieldProjectionsImpl implements AchievementFieldProjections {
+
+    private final FieldProjectionQuery<Achievement> query;
+
+    AchievementFieldProjectionsImpl(EntityManager entityManager) {
+        Map<String, String> paths = new HashMap<>(ACHIEVEMENT_FIELDS.stream()
+            .collect(Collectors.toMap(Function.identity(), Function.identity())));
+        // The foreign key column itself, so no join to dictators
+        paths.put("dictatorId", "dictator.id");
+        this.query = new FieldProjectionQuery<>(entityManager, Achievement.class, paths);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsPage(Collection<String> fields, String sortField, Object afterValue,
+                                                    Long afterId, int limit) {
+        return query.findPage(fields, sortField, afterValue, afterId, limit);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsById(Long id, Collection<String> fields) {
+        return query.findWhere(fields, "id", id);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByDictatorId(Long dictatorId, Collection<String> fields) {
+        return query.findWhere(fields, "dictatorId", dictatorId);
+    }
+}
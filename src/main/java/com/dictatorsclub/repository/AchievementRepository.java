@@ -1,12 +1,93 @@
 package com.dictatorsclub.repository;
 
+import com.dictatorsclub.dto.ResourceVersion;
 import com.dictatorsclub.model.Achievement;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface AchievementRepository extends JpaRepository<Achievement, Long> {
+public interface AchievementRepository extends JpaRepository<Achievement, Long>, AchievementFieldProjections {
     List<Achievement> findByDictatorId(Long dictatorId);
-    List<Achievement> findByDictatorUsername(String username);
+
+    // Inner join so the plan starts from the username index; the derived query's left join scans achievements
+    @Query("select a from Achievement a join a.dictator d where d.username = :username")
+    List<Achievement> findByDictatorUsername(@Param("username") String username);
+
+    @Query("select a.dictator.username from Achievement a where a.id = :id")
+    Optional<String> findDictatorUsernameById(@Param("id") Long id);
+
+    @Query("select a.dictator.id from Achievement a where a.id = :id")
+    Optional<Long> findDictatorIdById(@Param("id") Long id);
+
+    // Timestamp-only lookups for conditional GETs
+    @Query("select new com.dictatorsclub.dto.ResourceVersion(a.updatedAt, -1L) from Achievement a where a.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    @Query("select new com.dictatorsclub.dto.ResourceVersion(max(a.updatedAt), count(a)) from Achievement a " +
+           "where a.dictator.id = :dictatorId")
+    ResourceVersion findVersionByDictatorId(@Param("dictatorId") Long dictatorId);
+
+    @Query("select new com.dictatorsclub.dto.ResourceVersion(max(a.updatedAt), count(a)) from Achievement a " +
+           "where a.dictator.username = :username")
+    ResourceVersion findVersionByDictatorUsername(@Param("username") String username);
+
+    long countByDictatorId(Long dictatorId);
+
+    @Query("select a.id from Achievement a where a.dictator.id = :dictatorId order by a.id")
+    List<Long> findIdsByDictatorId(@Param("dictatorId") Long dictatorId, Limit limit);
+
+    // Set-based deletes: one statement, nothing loaded into the persistence context
+    // H2's delta table returns exactly the rows the delete removed, including any inserted after a prior read
+    @Query(value = "select id from old table (delete from achievements where dictator_id = :dictatorId)",
+        nativeQuery = true)
+    List<Long> deleteAllByDictatorIdReturningIds(@Param("dictatorId") Long dictatorId);
+
+    @Modifying
+    @Query("delete from Achievement a where a.id in :ids")
+    int deleteAllByIdInBulk(@Param("ids") Collection<Long> ids);
+
+    // Keyset pagination; achievements without a year sort first
+    List<Achievement> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select a from Achievement a where coalesce(a.year, " + Integer.MIN_VALUE + ") > :year " +
+           "or (coalesce(a.year, " + Integer.MIN_VALUE + ") = :year and a.id > :id) " +
+           "order by coalesce(a.year, " + Integer.MIN_VALUE + "), a.id")
+    List<Achievement> findPageAfterYear(@Param("year") int year, @Param("id") Long id, Limit limit);
+
+    // Year-range timeline, used until the in-memory timeline index is built
+    @Query("select a from Achievement a where a.year between :fromYear and :toYear " +
+           "and (a.year > :year or (a.year = :year and a.id > :id)) order by a.year, a.id")
+    List<Achievement> findTimelinePage(@Param("fromYear") int fromYear, @Param("toYear") int toYear,
+                                       @Param("year") int year, @Param("id") Long id, Limit limit);
+
+    @Query("select a from Achievement a where a.year between :fromYear and :toYear " +
+           "and a.dictator.country = :country " +
+           "and (a.year > :year or (a.year = :year and a.id > :id)) order by a.year, a.id")
+    List<Achievement> findTimelinePageByCountry(@Param("fromYear") int fromYear, @Param("toYear") int toYear,
+                                                @Param("country") String country, @Param("year") int year,
+                                                @Param("id") Long id, Limit limit);
+
+    List<Achievement> findAllByOrderByUpdatedAtAscIdAsc(Limit limit);
+
+    // The leading >= lets the (updated_at, id) index serve both the range and the order
+    @Query("select a from Achievement a where a.updatedAt >= :updatedAt and (a.updatedAt > :updatedAt or a.id > :id) " +
+           "order by a.updatedAt, a.id")
+    List<Achievement> findPageAfterUpdatedAt(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id, Limit limit);
+
+    // Must be consumed inside a transaction and closed by the caller
+    @Query("select a from Achievement a join fetch a.dictator order by a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Achievement> streamAll();
 }
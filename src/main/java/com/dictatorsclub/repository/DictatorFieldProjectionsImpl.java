@@ -0,0 +1,31 @@
+package com.dictatorsclub.repository;
+
+import com.dictatorsclub.model.Dictator;
+import jakarta.persistence.EntityManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+class DictatorFieldProjectionsImpl implements DictatorFieldProjections {
+
+    private final FieldProjectionQuery<Dictator> query;
+
+    DictatorFieldProjectionsImpl(EntityManager entityManager) {
+        this.query = new FieldProjectionQuery<>(entityManager, Dictator.class,
+            DICTATOR_FIELDS.stream().collect(Collectors.toMap(Function.identity(), Function.identity())));
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsPage(Collection<String> fields, String sortField, Object afterValue,
+                                                    Long afterId, int limit) {
+        return query.findPage(fields, sortField, afterValue, afterId, limit);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsById(Long id, Collection<String> fields) {
+        return query.findWhere(fields, "id", id);
+    }
+}
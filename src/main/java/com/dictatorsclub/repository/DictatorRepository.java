@@ -1,12 +1,75 @@
 package com.dictatorsclub.repository;
 
+import com.dictatorsclub.dto.ResourceVersion;
 import com.dictatorsclub.model.Dictator;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface DictatorRepository extends JpaRepository<Dictator, Long> {
+public interface DictatorRepository extends JpaRepository<Dictator, Long>, DictatorFieldProjections {
     Optional<Dictator> findByUsername(String username);
     boolean existsByUsername(String username);
+
+    @Query("select d.username from Dictator d where d.id = :id")
+    Optional<String> findUsernameById(@Param("id") Long id);
+
+    // Row lock held to the end of the transaction, so a concurrent update or delete of the same dictator waits
+    @Query(value = "select username from dictators where id = :id for update", nativeQuery = true)
+    Optional<String> lockUsernameById(@Param("id") Long id);
+
+    // Bypasses the achievements cascade; callers remove the children first
+    @Modifying
+    @Query("delete from Dictator d where d.id = :id")
+    int deleteByIdInBulk(@Param("id") Long id);
+
+    // Timestamp-only lookups for conditional GETs
+    @Query("select new com.dictatorsclub.dto.ResourceVersion(d.updatedAt, -1L) from Dictator d where d.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    @Query("select new com.dictatorsclub.dto.ResourceVersion(d.updatedAt, -1L) from Dictator d where d.username = :username")
+    Optional<ResourceVersion> findVersionByUsername(@Param("username") String username);
+
+    // Fetch plans that load achievements in the same statement
+    @EntityGraph(attributePaths = "achievements")
+    Optional<Dictator> findWithAchievementsById(Long id);
+
+    @EntityGraph(attributePaths = "achievements")
+    Optional<Dictator> findWithAchievementsByUsername(String username);
+
+    @EntityGraph(attributePaths = "achievements")
+    List<Dictator> findWithAchievementsByIdIn(Collection<Long> ids);
+
+    List<Dictator> findByUsernameIn(Collection<String> usernames);
+
+    @Query("select d.username from Dictator d where d.username in :usernames")
+    Set<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    // Keyset pagination
+    List<Dictator> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Dictator> findAllByOrderByUpdatedAtAscIdAsc(Limit limit);
+
+    // The leading >= lets the (updated_at, id) index serve both the range and the order
+    @Query("select d from Dictator d where d.updatedAt >= :updatedAt and (d.updatedAt > :updatedAt or d.id > :id) " +
+           "order by d.updatedAt, d.id")
+    List<Dictator> findPageAfterUpdatedAt(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id, Limit limit);
+
+    // Must be consumed inside a transaction and closed by the caller
+    @Query("select d from Dictator d order by d.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Dictator> streamAll();
 }
@@ -0,0 +1,132 @@
+package com.dictatorsclub.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tuple queries selecting only named columns of one entity. Results are plain maps, so no entity is
+ * instantiated or attached to the persistence context.
+ */
+final class FieldProjectionQuery<E> {
+
+    private final EntityManager entityManager;
+    private final Class<E> entityType;
+    // Field name exposed to clients -> attribute path, e.g. dictatorId -> dictator.id
+    private final Map<String, String> paths;
+
+    FieldProjectionQuery(EntityManager entityManager, Class<E> entityType, Map<String, String> paths) {
+        this.entityManager = entityManager;
+        this.entityType = entityType;
+        this.paths = paths;
+    }
+
+    /**
+     * One keyset page ordered by {@code sortField} then id. The rows also carry id and the sort field,
+     * which callers need for the next cursor even if the client did not ask for them.
+     */
+    List<Map<String, Object>> findPage(Collection<String> fields, String sortField, Object afterValue, Long afterId,
+                                       int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entityType);
+        Set<String> selected = new LinkedHashSet<>(fields);
+        selected.add("id");
+        selected.add(sortField);
+        query.multiselect(selections(root, selected));
+
+        Path<Long> id = root.get("id");
+        if ("id".equals(sortField)) {
+            if (afterId != null) {
+                query.where(cb.greaterThan(id, afterId));
+            }
+            query.orderBy(cb.asc(id));
+        } else {
+            Expression<Comparable<Object>> key = sortKey(cb, root, sortField);
+            if (afterValue != null) {
+                // Same shape as the repository keyset queries, so the (updated_at, id) index applies
+                Comparable<Object> value = comparable(afterValue);
+                Predicate after = cb.and(cb.greaterThanOrEqualTo(key, value),
+                    cb.or(cb.greaterThan(key, value), cb.greaterThan(id, afterId)));
+                query.where(after);
+            }
+            query.orderBy(cb.asc(key), cb.asc(id));
+        }
+        return toMaps(entityManager.createQuery(query).setMaxResults(limit).getResultList());
+    }
+
+    List<Map<String, Object>> findWhere(Collection<String> fields, String field, Object value) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entityType);
+        query.multiselect(selections(root, fields))
+            .where(cb.equal(path(root, field), value))
+            .orderBy(cb.asc(root.get("id")));
+        return toMaps(entityManager.createQuery(query).getResultList());
+    }
+
+    private List<Selection<?>> selections(Root<E> root, Collection<String> fields) {
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selections.add(path(root, field).alias(field));
+        }
+        return selections;
+    }
+
+    private Path<Object> path(Root<E> root, String field) {
+        String attributePath = paths.get(field);
+        if (attributePath == null) {
+            throw new IllegalArgumentException("Unknown field '" + field + "'");
+        }
+        Path<?> path = root;
+        for (String attribute : attributePath.split("\\.")) {
+            path = path.get(attribute);
+        }
+        @SuppressWarnings("unchecked")
+        Path<Object> typed = (Path<Object>) path;
+        return typed;
+    }
+
+    // Rows without a year sort first, matching the year keyset queries in AchievementRepository
+    @SuppressWarnings("unchecked")
+    private Expression<Comparable<Object>> sortKey(CriteriaBuilder cb, Root<E> root, String sortField) {
+        Expression<?> path = path(root, sortField);
+        if ("year".equals(sortField)) {
+            return (Expression<Comparable<Object>>) (Expression<?>) cb.coalesce((Expression<Integer>) path,
+                Integer.MIN_VALUE);
+        }
+        return (Expression<Comparable<Object>>) path;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> comparable(Object value) {
+        return (Comparable<Object>) value;
+    }
+
+    private static List<Map<String, Object>> toMaps(List<Tuple> tuples) {
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                row.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,349 @@
+package com.dictatorsclub.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Term -> posting list index over documents identified by a long id. Posting lists are sorted
+ * primitive arrays, so membership checks are binary searches and appends of increasing ids are O(1).
+ * Queries are conjunctive: every query term must match, the last one as a prefix.
+ */
+public class InvertedIndex {
+
+    private final String type;
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public InvertedIndex(String type) {
+        this.type = type;
+    }
+
+    public void put(long id, String label, String... fields) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String field : fields) {
+            for (String token : Tokenizer.tokenize(field)) {
+                frequencies.merge(token, 1, Integer::sum);
+                length++;
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                terms.computeIfAbsent(entry.getKey(), term -> new Postings()).add(id, entry.getValue());
+            }
+            documents.put(id, new Document(label, frequencies.keySet().toArray(String[]::new), Math.max(1, length)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        List<String> tokens = Tokenizer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            // Each clause scores the documents that can satisfy one query token
+            double totalDocuments = documents.size();
+            List<Clause> clauses = new ArrayList<>();
+            for (int i = 0; i < tokens.size(); i++) {
+                Clause clause = i == tokens.size() - 1
+                    ? prefix(tokens.get(i), totalDocuments)
+                    : exact(tokens.get(i), totalDocuments);
+                if (clause == null) {
+                    return List.of();
+                }
+                clauses.add(clause);
+            }
+            return topK(clauses, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Clause exact(String token, double totalDocuments) {
+        Postings postings = terms.get(token);
+        return postings == null ? null : TermClause.of(postings, totalDocuments);
+    }
+
+    // Every term with the prefix takes part, so no matching document is dropped however common the prefix
+    private Clause prefix(String prefix, double totalDocuments) {
+        Collection<Postings> expansions = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        return switch (expansions.size()) {
+            case 0 -> null;
+            case 1 -> TermClause.of(expansions.iterator().next(), totalDocuments);
+            default -> new PrefixClause(prefix, expansions, totalDocuments);
+        };
+    }
+
+    private List<SearchHit> topK(List<Clause> clauses, int limit) {
+        // Drive the intersection from the clause with the fewest candidate documents
+        Clause driver = clauses.get(0);
+        for (Clause clause : clauses) {
+            if (clause.size() < driver.size()) {
+                driver = clause;
+            }
+        }
+        // Only a driving prefix is merged into one id list; otherwise it is checked per candidate
+        if (driver instanceof PrefixClause prefix) {
+            driver = MergedClause.of(prefix.expansions, prefix.totalDocuments);
+            clauses = new ArrayList<>(clauses);
+            clauses.set(clauses.indexOf(prefix), driver);
+        }
+        PriorityQueue<SearchHit> best = new PriorityQueue<>((a, b) -> Double.compare(a.score(), b.score()));
+
+        for (int p = 0; p < driver.size(); p++) {
+            long id = driver.id(p);
+            double score = 0;
+            for (Clause clause : clauses) {
+                double clauseScore = clause.score(id);
+                if (clauseScore == 0) {
+                    score = 0;
+                    break;
+                }
+                score += clauseScore;
+            }
+            if (score == 0) {
+                continue;
+            }
+            Document document = documents.get(id);
+            score /= Math.sqrt(document.length());
+            if (best.size() < limit) {
+                best.add(new SearchHit(type, id, document.label(), score));
+            } else if (score > best.peek().score()) {
+                best.poll();
+                best.add(new SearchHit(type, id, document.label(), score));
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>(best);
+        hits.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return hits;
+    }
+
+    private static double idf(Postings postings, double totalDocuments) {
+        return Math.log(1 + totalDocuments / postings.size);
+    }
+
+    private void removeLocked(long id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            Postings postings = terms.get(term);
+            if (postings != null && postings.remove(id) && postings.size == 0) {
+                terms.remove(term);
+            }
+        }
+    }
+
+    private record Document(String label, String[] terms, int length) {
+    }
+
+    // Documents matching one query token, in id order, with that token's tf-idf contribution
+    private interface Clause {
+        int size();
+
+        long id(int position);
+
+        // 0 when the document does not match
+        double score(long id);
+    }
+
+    private record TermClause(Postings postings, double idf) implements Clause {
+
+        static TermClause of(Postings postings, double totalDocuments) {
+            return new TermClause(postings, InvertedIndex.idf(postings, totalDocuments));
+        }
+
+        @Override
+        public int size() {
+            return postings.size;
+        }
+
+        @Override
+        public long id(int position) {
+            return postings.ids[position];
+        }
+
+        @Override
+        public double score(long id) {
+            return postings.frequency(id) * idf;
+        }
+    }
+
+    // Several terms sharing a prefix, scored through the candidate document's own terms
+    private final class PrefixClause implements Clause {
+        private final String prefix;
+        private final Collection<Postings> expansions;
+        private final double totalDocuments;
+        private final int size;
+
+        PrefixClause(String prefix, Collection<Postings> expansions, double totalDocuments) {
+            this.prefix = prefix;
+            this.expansions = expansions;
+            this.totalDocuments = totalDocuments;
+            long candidates = 0;
+            for (Postings postings : expansions) {
+                candidates += postings.size;
+            }
+            this.size = (int) Math.min(Integer.MAX_VALUE, candidates);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public long id(int position) {
+            throw new UnsupportedOperationException("Merge a prefix clause before driving with it");
+        }
+
+        @Override
+        public double score(long id) {
+            Document document = documents.get(id);
+            double best = 0;
+            for (String term : document.terms()) {
+                if (term.startsWith(prefix)) {
+                    Postings postings = terms.get(term);
+                    best = Math.max(best, postings.frequency(id) * idf(postings, totalDocuments));
+                }
+            }
+            return best;
+        }
+    }
+
+    // Union of several terms' postings; a document reached through more than one keeps its best score
+    private record MergedClause(long[] ids, double[] scores, int size) implements Clause {
+
+        static MergedClause of(Collection<Postings> expansions, double totalDocuments) {
+            Postings[] lists = expansions.toArray(Postings[]::new);
+            double[] idfs = new double[lists.length];
+            int[] positions = new int[lists.length];
+            int total = 0;
+            for (int i = 0; i < lists.length; i++) {
+                idfs[i] = idf(lists[i], totalDocuments);
+                total += lists[i].size;
+            }
+            // k-way merge of the sorted posting lists, O(total log k)
+            PriorityQueue<Integer> heads = new PriorityQueue<>(lists.length,
+                (a, b) -> Long.compare(lists[a].ids[positions[a]], lists[b].ids[positions[b]]));
+            for (int i = 0; i < lists.length; i++) {
+                heads.add(i);
+            }
+            long[] ids = new long[total];
+            double[] scores = new double[total];
+            int size = 0;
+            while (!heads.isEmpty()) {
+                int list = heads.poll();
+                long id = lists[list].ids[positions[list]];
+                double score = lists[list].frequencies[positions[list]] * idfs[list];
+                if (size > 0 && ids[size - 1] == id) {
+                    scores[size - 1] = Math.max(scores[size - 1], score);
+                } else {
+                    ids[size] = id;
+                    scores[size] = score;
+                    size++;
+                }
+                if (++positions[list] < lists[list].size) {
+                    heads.add(list);
+                }
+            }
+            return new MergedClause(ids, scores, size);
+        }
+
+        @Override
+        public long id(int position) {
+            return ids[position];
+        }
+
+        @Override
+        public double score(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            return position >= 0 ? scores[position] : 0;
+        }
+    }
+
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(long id, int frequency) {
+            int position = size > 0 && ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0 && position < size) {
+                frequencies[position] = frequency;
+                return;
+            }
+            int insertAt = position >= 0 ? position : -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(frequencies, insertAt, frequencies, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            frequencies[insertAt] = frequency;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            System.arraycopy(frequencies, position + 1, frequencies, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        int frequency(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            return position >= 0 ? frequencies[position] : 0;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.dictatorsclub.search;
+
+public record SearchHit(String type, long id, String label, double score) {
+}
@@ -1,48 +1,242 @@
 package com.dictatorsclub.service;
 
+import com.dictatorsclub.config.CacheConfig;
+import com.dictatorsclub.dto.AchievementDto;
+import com.dictatorsclub.dto.BatchResult;
+import com.dictatorsclub.dto.CursorPage;
+import com.dictatorsclub.dto.ResourceVersion;
+import com.dictatorsclub.event.AchievementChangedEvent;
 import com.dictatorsclub.model.Achievement;
 import com.dictatorsclub.model.Dictator;
+import com.dictatorsclub.repository.AchievementFieldProjections;
 import com.dictatorsclub.repository.AchievementRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class AchievementService {
 
     private final AchievementRepository achievementRepository;
     private final DictatorService dictatorService;
+    private final Cache achievementOwners;
+    private final Cache achievements;
+    private final Cache achievementsByDictator;
+    private final Caches caches;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxPageSize;
+    private final int maxBatchSize;
 
-    public AchievementService(AchievementRepository achievementRepository, DictatorService dictatorService) {
+    public AchievementService(AchievementRepository achievementRepository, DictatorService dictatorService,
+                              CacheManager cacheManager, Caches caches, ApplicationEventPublisher eventPublisher,
+                              @Value("${dictators-club.pagination.max-page-size:200}") int maxPageSize,
+                              @Value("${dictators-club.batch.max-size:200}") int maxBatchSize) {
         this.achievementRepository = achievementRepository;
         this.dictatorService = dictatorService;
+        this.caches = caches;
+        this.eventPublisher = eventPublisher;
+        this.achievementOwners = cacheManager.getCache(CacheConfig.ACHIEVEMENT_OWNERS);
+        this.achievements = cacheManager.getCache(CacheConfig.ACHIEVEMENTS);
+        this.achievementsByDictator = cacheManager.getCache(CacheConfig.ACHIEVEMENTS_BY_DICTATOR);
+        this.maxPageSize = maxPageSize;
+        this.maxBatchSize = maxBatchSize;
     }
 
+    @Transactional(readOnly = true)
     public List<Achievement> findAll() {
         return achievementRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Achievement> findPage(String cursor, PageCursor.Sort sort, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        PageCursor after = cursor == null ? null : PageCursor.decode(cursor, sort);
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Achievement> rows = switch (sort) {
+            case ID -> achievementRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after.id(), limit);
+            case YEAR -> after == null
+                ? achievementRepository.findPageAfterYear(Integer.MIN_VALUE, 0L, limit)
+                : achievementRepository.findPageAfterYear(after.yearValue(), after.id(), limit);
+            case UPDATED_AT -> after == null
+                ? achievementRepository.findAllByOrderByUpdatedAtAscIdAsc(limit)
+                : achievementRepository.findPageAfterUpdatedAt(after.updatedAtValue(), after.id(), limit);
+        };
+
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<Achievement> items = rows.subList(0, pageSize);
+        Achievement last = items.get(pageSize - 1);
+        String value = switch (sort) {
+            case ID -> null;
+            case YEAR -> String.valueOf(last.getYear() == null ? Integer.MIN_VALUE : last.getYear());
+            case UPDATED_AT -> last.getUpdatedAt().toString();
+        };
+        return new CursorPage<>(items, new PageCursor(sort, value, last.getId()).encode());
+    }
+
+    // Sparse fieldsets: only the named columns are selected, and rows are never loaded as entities
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> findFieldsPage(String cursor, PageCursor.Sort sort, int size,
+                                                          String fields) {
+        Set<String> selected = FieldPages.parse(fields, AchievementFieldProjections.ACHIEVEMENT_FIELDS);
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        PageCursor after = cursor == null ? null : PageCursor.decode(cursor, sort);
+        String sortField = FieldPages.sortField(sort);
+        List<Map<String, Object>> rows = achievementRepository.findFieldsPage(selected, sortField,
+            FieldPages.afterValue(after), after == null ? null : after.id(), pageSize + 1);
+        return FieldPages.page(rows, pageSize, sort, sortField, selected);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> findFieldsById(Long id, String fields) {
+        Set<String> selected = FieldPages.parse(fields, AchievementFieldProjections.ACHIEVEMENT_FIELDS);
+        return achievementRepository.findFieldsById(id, selected).stream().findFirst().orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findFieldsByDictatorId(Long dictatorId, String fields) {
+        Set<String> selected = FieldPages.parse(fields, AchievementFieldProjections.ACHIEVEMENT_FIELDS);
+        return achievementRepository.findFieldsByDictatorId(dictatorId, selected);
+    }
+
+    @Transactional(readOnly = true)
     public Achievement findById(Long id) {
         return achievementRepository.findById(id).orElse(null);
     }
 
+    @Transactional(readOnly = true)
+    public AchievementDto findViewById(Long id) {
+        return caches.readThrough(achievements, id,
+            () -> achievementRepository.findById(id).map(AchievementDto::from).orElse(null));
+    }
+
+    // Cached views are reused and every miss is resolved by a single IN query
+    @Transactional(readOnly = true)
+    public BatchResult<Long, AchievementDto> findViewsByIds(List<Long> ids) {
+        DictatorService.checkBatchSize(ids.size(), maxBatchSize);
+        return BatchResult.of(ids, findViewMap(ids));
+    }
+
+    // Unbounded form for callers that cap the id list themselves; missing ids are absent from the map
+    Map<Long, AchievementDto> findViewMap(Collection<Long> ids) {
+        return caches.readThroughAll(achievements, ids, misses -> {
+            Map<Long, AchievementDto> loaded = new HashMap<>();
+            for (Achievement achievement : achievementRepository.findAllById(misses)) {
+                loaded.put(achievement.getId(), AchievementDto.from(achievement));
+            }
+            return loaded;
+        });
+    }
+
+    @Transactional(readOnly = true)
     public List<Achievement> findByDictatorId(Long dictatorId) {
         return achievementRepository.findByDictatorId(dictatorId);
     }
 
+    @Transactional(readOnly = true)
+    public List<AchievementDto> findViewsByDictatorId(Long dictatorId) {
+        return caches.readThrough(achievementsByDictator, dictatorId,
+            () -> achievementRepository.findByDictatorId(dictatorId).stream().map(AchievementDto::from).toList());
+    }
+
+    @Transactional(readOnly = true)
     public List<Achievement> findByDictatorUsername(String username) {
         return achievementRepository.findByDictatorUsername(username);
     }
 
+    // Answers from the view caches when possible, otherwise with timestamp-only queries
+    @Transactional(readOnly = true)
+    public ResourceVersion findVersion(Long id) {
+        AchievementDto cached = achievements.get(id, AchievementDto.class);
+        return cached != null ? ResourceVersion.of(cached) : achievementRepository.findVersionById(id).orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public ResourceVersion findVersionByDictatorId(Long dictatorId) {
+        Cache.ValueWrapper cached = achievementsByDictator.get(dictatorId);
+        return cached != null
+            ? ResourceVersion.of((List<AchievementDto>) cached.get())
+            : achievementRepository.findVersionByDictatorId(dictatorId);
+    }
+
     public Achievement save(Achievement achievement) {
-        return achievementRepository.save(achievement);
+        boolean created = achievement.getId() == null;
+        Achievement saved = achievementRepository.save(achievement);
+        evictViews(saved.getId(), saved.getDictator().getId());
+        eventPublisher.publishEvent(AchievementChangedEvent.saved(created, AchievementDto.from(saved)));
+        return saved;
+    }
+
+    public List<Achievement> saveAll(List<Achievement> toSave) {
+        List<Boolean> created = toSave.stream().map(achievement -> achievement.getId() == null).toList();
+        List<Achievement> saved = achievementRepository.saveAll(toSave);
+        for (int i = 0; i < saved.size(); i++) {
+            Achievement achievement = saved.get(i);
+            evictViews(achievement.getId(), achievement.getDictator().getId());
+            eventPublisher.publishEvent(AchievementChangedEvent.saved(created.get(i), AchievementDto.from(achievement)));
+        }
+        return saved;
     }
 
-    public void deleteById(Long id) {
+    // Loads and modifies the managed entity so the change is flushed as a single UPDATE
+    @Transactional
+    public Achievement update(Long id, Achievement changes) {
+        Achievement existing = achievementRepository.findById(id).orElse(null);
+        if (existing == null) {
+            return null;
+        }
+        existing.setTitle(changes.getTitle());
+        existing.setDescription(changes.getDescription());
+        existing.setYear(changes.getYear());
+        // Flush now so @PreUpdate has set updatedAt before the change event is built
+        achievementRepository.flush();
+        evictViews(existing.getId(), existing.getDictator().getId());
+        eventPublisher.publishEvent(AchievementChangedEvent.saved(false, AchievementDto.from(existing)));
+        return existing;
+    }
+
+    @Transactional(readOnly = true)
+    public long count() {
+        return achievementRepository.count();
+    }
+
+    public boolean deleteById(Long id) {
+        Long dictatorId = achievementRepository.findDictatorIdById(id).orElse(null);
+        if (dictatorId == null) {
+            return false;
+        }
         achievementRepository.deleteById(id);
+        caches.evict(achievementOwners, id);
+        evictViews(id, dictatorId);
+        eventPublisher.publishEvent(AchievementChangedEvent.deleted(id));
+        return true;
     }
 
+    private void evictViews(Long id, Long dictatorId) {
+        caches.evict(achievements, id);
+        caches.evict(achievementsByDictator, dictatorId);
+    }
+
+    // Deliberately not read-only: ownership checks guard writes, so they always go to the primary
     public boolean isOwner(String username, Long achievementId) {
-        Achievement achievement = findById(achievementId);
-        return achievement != null && achievement.getDictator().getUsername().equals(username);
+        return username != null && username.equals(findOwner(achievementId));
+    }
+
+    private String findOwner(Long achievementId) {
+        return caches.readThrough(achievementOwners, achievementId,
+            () -> achievementRepository.findDictatorUsernameById(achievementId).orElse(null));
     }
 }
@@ -0,0 +1,176 @@
+package com.dictatorsclub.service;
+
+import com.dictatorsclub.dto.AchievementDto;
+import com.dictatorsclub.event.AchievementChangedEvent;
+import com.dictatorsclub.event.ChangeType;
+import com.dictatorsclub.event.DictatorChangedEvent;
+import com.dictatorsclub.event.ReadModel;
+import com.dictatorsclub.event.ReadModelNotReadyException;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Achievement counts per dictator country and per year, maintained incrementally from change events.
+ * Writers touching the same dictator are serialized by a striped lock; counters are LongAdders so
+ * readers never block and a read costs one pass over the buckets.
+ */
+@Service
+public class AchievementStatsService implements ReadModel {
+
+    private static final int STRIPES = 64;
+    private static final String UNKNOWN = "unknown";
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final Map<Long, DictatorState> dictators = new ConcurrentHashMap<>();
+    private final Map<Long, AchievementState> achievements = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> byCountry = new ConcurrentHashMap<>();
+    private final Map<Integer, LongAdder> byYear = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public AchievementStatsService() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Map<String, Long> countByCountry() {
+        checkReady();
+        Map<String, Long> counts = new TreeMap<>();
+        byCountry.forEach((country, count) -> {
+            long value = count.sum();
+            if (value > 0) {
+                counts.put(country, value);
+            }
+        });
+        return counts;
+    }
+
+    // Buckets are keyed by their first year, e.g. 1800 for 1800-1809 with a bucket size of 10
+    public Map<Integer, Long> countByYear(int bucketSize) {
+        if (bucketSize < 1) {
+            throw new IllegalArgumentException("bucketSize must be positive");
+        }
+        checkReady();
+        Map<Integer, Long> counts = new TreeMap<>();
+        byYear.forEach((year, count) -> {
+            long value = count.sum();
+            if (value > 0) {
+                counts.merge(Math.floorDiv(year, bucketSize) * bucketSize, value, Long::sum);
+            }
+        });
+        return counts;
+    }
+
+    @Override
+    public void clear() {
+        ready = false;
+        dictators.clear();
+        achievements.clear();
+        byCountry.clear();
+        byYear.clear();
+    }
+
+    @Override
+    public void rebuilt() {
+        ready = true;
+    }
+
+    @Override
+    public void onDictatorChanged(DictatorChangedEvent event) {
+        ReentrantLock lock = stripe(event.id());
+        lock.lock();
+        try {
+            DictatorState previous = dictators.get(event.id());
+            if (event.type() == ChangeType.DELETED) {
+                // The dispatcher has already applied the deletes of its achievements
+                dictators.remove(event.id());
+                return;
+            }
+            String country = countryOf(event.dictator().country());
+            if (previous == null) {
+                dictators.put(event.id(), new DictatorState(country, 0));
+            } else if (!previous.country().equals(country)) {
+                counter(byCountry, previous.country()).add(-previous.achievements());
+                counter(byCountry, country).add(previous.achievements());
+                dictators.put(event.id(), new DictatorState(country, previous.achievements()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onAchievementChanged(AchievementChangedEvent event) {
+        Long dictatorId = event.type() == ChangeType.DELETED
+            ? dictatorOf(event.id())
+            : event.achievement().dictatorId();
+        if (dictatorId == null) {
+            return;
+        }
+        ReentrantLock lock = stripe(dictatorId);
+        lock.lock();
+        try {
+            AchievementState previous = event.type() == ChangeType.DELETED
+                ? achievements.remove(event.id())
+                : achievements.get(event.id());
+            if (previous != null) {
+                adjust(previous, -1);
+            }
+            if (event.type() != ChangeType.DELETED) {
+                AchievementDto achievement = event.achievement();
+                AchievementState current = new AchievementState(dictatorId, achievement.year());
+                achievements.put(event.id(), current);
+                adjust(current, 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Long dictatorOf(Long achievementId) {
+        AchievementState state = achievements.get(achievementId);
+        return state == null ? null : state.dictatorId();
+    }
+
+    // Caller holds the stripe lock of state.dictatorId()
+    private void adjust(AchievementState state, int delta) {
+        DictatorState dictator = dictators.get(state.dictatorId());
+        String country = dictator == null ? UNKNOWN : dictator.country();
+        if (dictator != null) {
+            dictators.put(state.dictatorId(), new DictatorState(country, dictator.achievements() + delta));
+        }
+        counter(byCountry, country).add(delta);
+        if (state.year() != null) {
+            counter(byYear, state.year()).add(delta);
+        }
+    }
+
+    private void checkReady() {
+        if (!ready) {
+            throw new ReadModelNotReadyException("Achievement stats");
+        }
+    }
+
+    private ReentrantLock stripe(Long dictatorId) {
+        return stripes[Math.floorMod(Long.hashCode(dictatorId), STRIPES)];
+    }
+
+    private static <K> LongAdder counter(Map<K, LongAdder> counters, K key) {
+        return counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static String countryOf(String country) {
+        return country == null || country.isBlank() ? UNKNOWN : country;
+    }
+
+    private record DictatorState(String country, long achievements) {
+    }
+
+    private record AchievementState(Long dictatorId, Integer year) {
+    }
+}
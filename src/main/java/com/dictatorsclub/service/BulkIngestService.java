@@ -0,0 +1,118 @@
+package com.dictatorsclub.service;
+
+import com.dictatorsclub.dto.AchievementDto;
+import com.dictatorsclub.dto.BulkIngestResult;
+import com.dictatorsclub.dto.DictatorDto;
+import com.dictatorsclub.event.AchievementChangedEvent;
+import com.dictatorsclub.event.DictatorChangedEvent;
+import com.dictatorsclub.model.Achievement;
+import com.dictatorsclub.model.Dictator;
+import com.dictatorsclub.repository.DictatorRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class BulkIngestService {
+
+    private final DictatorRepository dictatorRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public BulkIngestService(DictatorRepository dictatorRepository, EntityManager entityManager,
+                             TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${dictators-club.ingest.batch-size:1000}") int batchSize) {
+        this.dictatorRepository = dictatorRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reads dictators with nested achievements from a JSON array or NDJSON body and inserts them
+     * in transactions of roughly batchSize rows. Dictators whose username already exists are skipped.
+     */
+    public BulkIngestResult ingest(InputStream body) throws IOException {
+        long started = System.nanoTime();
+        long[] totals = new long[3];
+
+        try (MappingIterator<Dictator> iterator = objectMapper.readerFor(Dictator.class).readValues(body)) {
+            List<Dictator> batch = new ArrayList<>();
+            int rowsInBatch = 0;
+            while (iterator.hasNextValue()) {
+                Dictator dictator = iterator.nextValue();
+                batch.add(dictator);
+                rowsInBatch += 1 + (dictator.getAchievements() == null ? 0 : dictator.getAchievements().size());
+                if (rowsInBatch >= batchSize) {
+                    insertBatch(batch, totals);
+                    batch.clear();
+                    rowsInBatch = 0;
+                }
+            }
+            if (!batch.isEmpty()) {
+                insertBatch(batch, totals);
+            }
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        long rows = totals[0] + totals[1];
+        return new BulkIngestResult(totals[0], totals[1], totals[2], elapsedMillis, rows * 1000 / elapsedMillis);
+    }
+
+    private void insertBatch(List<Dictator> batch, long[] totals) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> usernames = new HashSet<>();
+            for (Dictator dictator : batch) {
+                usernames.add(dictator.getUsername());
+            }
+            Set<String> taken = new HashSet<>(dictatorRepository.findExistingUsernames(usernames));
+            List<Dictator> inserted = new ArrayList<>();
+
+            for (Dictator dictator : batch) {
+                if (dictator.getUsername() == null || !taken.add(dictator.getUsername())) {
+                    totals[2]++;
+                    continue;
+                }
+                dictator.setId(null);
+                if (dictator.getAchievements() != null) {
+                    for (Achievement achievement : dictator.getAchievements()) {
+                        achievement.setId(null);
+                        achievement.setDictator(dictator);
+                    }
+                    totals[1] += dictator.getAchievements().size();
+                }
+                entityManager.persist(dictator);
+                inserted.add(dictator);
+                totals[0]++;
+            }
+            entityManager.flush();
+            // Delivered once the batch commits
+            for (Dictator dictator : inserted) {
+                eventPublisher.publishEvent(DictatorChangedEvent.saved(true, DictatorDto.from(dictator)));
+                if (dictator.getAchievements() != null) {
+                    for (Achievement achievement : dictator.getAchievements()) {
+                        eventPublisher.publishEvent(AchievementChangedEvent.saved(true, AchievementDto.from(achievement)));
+                    }
+                }
+            }
+            entityManager.clear();
+        });
+    }
+}
@@ -0,0 +1,180 @@
+package com.dictatorsclub.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through and eviction helpers for the view caches. Every eviction bumps a generation counter for
+ * its key's stripe; a load reads the generation before it queries and undoes its own put if the key was
+ * evicted in the meantime, so a reader that loaded a row just before a write cannot leave the old row
+ * cached after the write's eviction.
+ * <p>
+ * With read replicas, a read that misses right after a write's eviction can be routed to a replica that
+ * has not applied the write yet. Keys are therefore not refilled for the read-your-writes window, which
+ * is sized to cover replica lag, so such a read is answered once but never cached.
+ */
+@Component
+class Caches {
+
+    // Power of two; distinct keys sharing a stripe only cost each other an extra miss
+    private static final int STRIPES = 4096;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    // Counts every eviction, for loads that fill keys they only learn from the loaded row
+    private final AtomicLong epoch = new AtomicLong();
+    // With replicas a load can read a row older than the last eviction, so keys stay unfilled this long
+    private final AtomicLongArray evictedAt = new AtomicLongArray(STRIPES);
+    // Replicas may serve a row this much older than the primary's; zero without replicas
+    private final long replicaLagNanos;
+
+    @Autowired
+    Caches(@Value("${dictators-club.datasource.replica-urls:}") List<String> replicaUrls,
+           @Value("${dictators-club.datasource.read-your-writes-window:5s}") Duration window) {
+        this(replicaUrls.isEmpty() ? Duration.ZERO : window);
+    }
+
+    Caches(Duration replicaLag) {
+        this.replicaLagNanos = replicaLag.toNanos();
+    }
+
+    // Misses are not cached, so an id that is created later is not shadowed by an earlier lookup
+    @SuppressWarnings("unchecked")
+    <T> T readThrough(Cache cache, Object key, Supplier<T> loader) {
+        Cache.ValueWrapper hit = cache.get(key);
+        if (hit != null) {
+            return (T) hit.get();
+        }
+        long generation = generation(cache, key);
+        T value = loader.get();
+        if (value != null) {
+            put(cache, key, value, generation);
+        }
+        return value;
+    }
+
+    // Batch form of readThrough: hits are served from the cache and all misses are loaded in one call
+    <K, T> Map<K, T> readThroughAll(Cache cache, Collection<K> keys, Function<Set<K>, Map<K, T>> loader) {
+        Map<K, T> found = new HashMap<>();
+        Map<K, Long> misses = new LinkedHashMap<>();
+        for (K key : keys) {
+            Cache.ValueWrapper hit = cache.get(key);
+            if (hit != null) {
+                @SuppressWarnings("unchecked")
+                T value = (T) hit.get();
+                found.put(key, value);
+            } else {
+                misses.put(key, generation(cache, key));
+            }
+        }
+        if (!misses.isEmpty()) {
+            Map<K, T> loaded = loader.apply(misses.keySet());
+            loaded.forEach((key, value) -> put(cache, key, value, misses.get(key)));
+            found.putAll(loaded);
+        }
+        return found;
+    }
+
+    // Read before loading a value that will be passed to put
+    long generation(Cache cache, Object key) {
+        return generations.get(stripe(cache, key));
+    }
+
+    // The eviction bumps the generation before removing the entry, so whichever of the two this put races
+    // with, the stale value does not survive
+    void put(Cache cache, Object key, Object value, long generation) {
+        if (evictedWithinReplicaLag(cache, key)) {
+            return;
+        }
+        cache.put(key, value);
+        if (generations.get(stripe(cache, key)) != generation) {
+            cache.evict(key);
+        }
+    }
+
+    // Inside a transaction the entry is dropped only once the change is visible to other readers
+    void evict(Cache cache, Object key) {
+        if (key == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(cache, key);
+                }
+            });
+        } else {
+            evictNow(cache, key);
+        }
+    }
+
+    // Read before a load whose cache keys are not known until it returns
+    long epoch() {
+        return epoch.get();
+    }
+
+    // Keeps the value only if nothing at all was evicted since the epoch was read; a busy write path
+    // costs such loads their fill, never their correctness
+    void putSince(Cache cache, Object key, Object value, long since) {
+        if (evictedWithinReplicaLag(cache, key)) {
+            return;
+        }
+        cache.put(key, value);
+        if (epoch.get() != since) {
+            cache.evict(key);
+        }
+    }
+
+    private boolean evictedWithinReplicaLag(Cache cache, Object key) {
+        if (replicaLagNanos == 0) {
+            return false;
+        }
+        long at = evictedAt.get(stripe(cache, key));
+        return at != 0 && System.nanoTime() - at < replicaLagNanos;
+    }
+
+    // One synchronization for a whole set-based delete rather than one per key
+    void evictAll(Cache cache, Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    keys.forEach(key -> evictNow(cache, key));
+                }
+            });
+        } else {
+            keys.forEach(key -> evictNow(cache, key));
+        }
+    }
+
+    private void evictNow(Cache cache, Object key) {
+        int stripe = stripe(cache, key);
+        evictedAt.set(stripe, System.nanoTime());
+        generations.incrementAndGet(stripe);
+        epoch.incrementAndGet();
+        cache.evict(key);
+    }
+
+    private static int stripe(Cache cache, Object key) {
+        int hash = 31 * cache.getName().hashCode() + key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
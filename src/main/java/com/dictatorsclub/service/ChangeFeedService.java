@@ -0,0 +1,269 @@
+package com.dictatorsclub.service;
+
+import com.dictatorsclub.dto.ChangeFeedEvent;
+import com.dictatorsclub.event.AchievementChangedEvent;
+import com.dictatorsclub.event.AchievementsDeletedEvent;
+import com.dictatorsclub.event.ChangeType;
+import com.dictatorsclub.event.DictatorChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Server-sent change feed. Committed changes get a sequence number and are kept in a ring buffer so
+ * a reconnecting client can resume from its Last-Event-ID. An idle subscriber is only an async
+ * request and an empty queue; sender threads only exist while queues are being drained, and a
+ * subscriber whose queue fills up is disconnected instead of buffering without bound.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedService.class);
+    private static final Supplier<SseEmitter.SseEventBuilder> HEARTBEAT = () -> SseEmitter.event().comment("heartbeat");
+
+    // Event ids are "<epoch>-<sequence>"; a new epoch per process tells resuming clients that the
+    // sequence restarted and anything they missed is gone
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ChangeFeedEvent[] history;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private long lastSequence;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final int queueCapacity;
+    private final Duration subscriptionTimeout;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+    private final Counter dropped;
+
+    public ChangeFeedService(@Value("${dictators-club.change-feed.history-size:10000}") int historySize,
+                             @Value("${dictators-club.change-feed.queue-capacity:1000}") int queueCapacity,
+                             @Value("${dictators-club.change-feed.heartbeat-interval:15s}") Duration heartbeatInterval,
+                             @Value("${dictators-club.change-feed.subscription-timeout:30m}") Duration subscriptionTimeout,
+                             MeterRegistry meterRegistry) {
+        this.history = new ChangeFeedEvent[historySize];
+        this.queueCapacity = queueCapacity;
+        this.subscriptionTimeout = subscriptionTimeout;
+        // Unbounded but idle-expiring: a write stuck on a slow client's socket holds one thread without
+        // delaying delivery to everyone else, and idle subscribers hold none
+        this.senders = Executors.newCachedThreadPool(daemon("change-feed-sender"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemon("change-feed-heartbeat"));
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatInterval.toMillis(),
+            heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        Gauge.builder("dictators.changefeed.subscribers", subscribers, Set::size).register(meterRegistry);
+        this.dropped = Counter.builder("dictators.changefeed.dropped")
+            .description("Subscribers disconnected because their queue was full")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Registers a subscriber. Events after {@code lastEventId} that are still in the history are sent
+     * first; if some were already evicted, or the id is from an earlier process, the client gets a
+     * "reset" event and should refetch.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(subscriptionTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        appendLock.lock();
+        try {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                List<ChangeFeedEvent> missed = since(lastEventId);
+                if (missed == null || missed.size() > queueCapacity) {
+                    String resetId = eventId(lastSequence);
+                    subscriber.offer(() -> SseEmitter.event().name("reset").id(resetId).data(""));
+                } else {
+                    missed.forEach(event -> subscriber.offer(() -> toSse(event)));
+                }
+            }
+            // Registered under the lock, so no event falls between the replay and the live stream
+            subscribers.add(subscriber);
+        } finally {
+            appendLock.unlock();
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDictatorChanged(DictatorChangedEvent event) {
+        publish(ChangeFeedEvent.DICTATOR, event.type(), event.id(), event.dictator());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAchievementChanged(AchievementChangedEvent event) {
+        publish(ChangeFeedEvent.ACHIEVEMENT, event.type(), event.id(), event.achievement());
+    }
+
+    // One event per chunk of a chunked delete; its id is the dictator's and its data the deleted ids
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAchievementsDeleted(AchievementsDeletedEvent event) {
+        publish(ChangeFeedEvent.ACHIEVEMENTS, ChangeType.DELETED, event.dictatorId(), event.ids());
+    }
+
+    private void publish(String entity, ChangeType type, Long id, Object data) {
+        appendLock.lock();
+        try {
+            ChangeFeedEvent event = new ChangeFeedEvent(++lastSequence, entity, type, id, data);
+            history[(int) (event.sequence() % history.length)] = event;
+            // SseEventBuilder.build() mutates the builder, so every send gets a fresh one
+            Supplier<SseEmitter.SseEventBuilder> sse = () -> toSse(event);
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.offer(sse)) {
+                    schedule(subscriber);
+                }
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Caller holds appendLock; null when the events after lastEventId can no longer be replayed
+    private List<ChangeFeedEvent> since(String lastEventId) {
+        int separator = lastEventId.indexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return null;
+        }
+        long after;
+        try {
+            after = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        long oldest = Math.max(1, lastSequence - history.length + 1);
+        if (after > lastSequence || after + 1 < oldest) {
+            return null;
+        }
+        List<ChangeFeedEvent> events = new ArrayList<>();
+        for (long sequence = after + 1; sequence <= lastSequence; sequence++) {
+            events.add(history[(int) (sequence % history.length)]);
+        }
+        return events;
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.offer(HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    // At most one drain per subscriber runs at a time, which keeps its events in order
+    private void drain(Subscriber subscriber) {
+        try {
+            Supplier<SseEmitter.SseEventBuilder> event;
+            while ((event = subscriber.queue.poll()) != null) {
+                subscriber.size.decrementAndGet();
+                subscriber.emitter.send(event.get());
+            }
+        } catch (IOException | RuntimeException e) {
+            // Client went away or the event could not be written; close() unregisters it
+            subscriber.close();
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        schedule(subscriber);
+    }
+
+    private SseEmitter.SseEventBuilder toSse(ChangeFeedEvent event) {
+        return SseEmitter.event()
+            .id(eventId(event.sequence()))
+            .name(event.entity())
+            .data(event, MediaType.APPLICATION_JSON);
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(Subscriber::close);
+        senders.shutdown();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final class Subscriber {
+
+        final SseEmitter emitter;
+        final Queue<Supplier<SseEmitter.SseEventBuilder>> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger size = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // False if the subscriber is gone or was just dropped for falling behind
+        boolean offer(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (closed.get()) {
+                return false;
+            }
+            if (size.incrementAndGet() > queueCapacity) {
+                size.decrementAndGet();
+                dropped.increment();
+                log.debug("Dropping change feed subscriber with {} undelivered events", queueCapacity);
+                close();
+                return false;
+            }
+            queue.add(event);
+            return true;
+        }
+
+        // Completion goes through the sender pool: the emitter blocks while another thread is sending,
+        // and close() may be called by a publisher holding appendLock
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                queue.clear();
+                senders.execute(emitter::complete);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.dictatorsclub.service;
+
+import com.dictatorsclub.dto.DeletionJob;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes dictators with large achievement lists in the background. Achievements are removed in chunks,
+ * each in its own short transaction, so no single statement holds locks on the whole set; the dictator
+ * row goes last together with anything added in the meantime.
+ */
+@Service
+public class DictatorDeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(DictatorDeletionService.class);
+
+    private final DictatorService dictatorService;
+    private final int chunkSize;
+    private final Cache<String, Job> jobs;
+    // One worker: jobs queue behind each other instead of competing for the same tables
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dictator-deletion");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DictatorDeletionService(DictatorService dictatorService,
+                                   @Value("${dictators-club.deletion.chunk-size:1000}") int chunkSize,
+                                   @Value("${dictators-club.deletion.job-retention:1h}") Duration jobRetention) {
+        this.dictatorService = dictatorService;
+        this.chunkSize = chunkSize;
+        // Written on every state change, so only finished jobs age out
+        this.jobs = Caffeine.newBuilder().expireAfterWrite(jobRetention).build();
+    }
+
+    public DeletionJob start(Long dictatorId, String requestedBy) {
+        Job job = new Job(UUID.randomUUID().toString(), dictatorId, requestedBy,
+            dictatorService.countAchievements(dictatorId));
+        jobs.put(job.id, job);
+        worker.execute(() -> run(job));
+        return job.view();
+    }
+
+    // Jobs are visible only to the user who started them
+    public DeletionJob find(String jobId, String username) {
+        Job job = jobs.getIfPresent(jobId);
+        return job == null || !job.requestedBy.equals(username) ? null : job.view();
+    }
+
+    private void run(Job job) {
+        job.state = DeletionJob.State.RUNNING;
+        job.startedAt = Instant.now();
+        jobs.put(job.id, job);
+        try {
+            int deleted;
+            while ((deleted = dictatorService.deleteAchievementChunk(job.dictatorId, chunkSize)) > 0) {
+                job.deleted.addAndGet(deleted);
+                jobs.put(job.id, job);
+            }
+            dictatorService.deleteById(job.dictatorId);
+            job.state = DeletionJob.State.COMPLETED;
+        } catch (RuntimeException e) {
+            log.warn("Deletion job {} for dictator {} failed", job.id, job.dictatorId, e);
+            job.error = e.getMessage();
+            job.state = DeletionJob.State.FAILED;
+        }
+        job.finishedAt = Instant.now();
+        jobs.put(job.id, job);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private static final class Job {
+        final String id;
+        final Long dictatorId;
+        final String requestedBy;
+        final long total;
+        final AtomicLong deleted = new AtomicLong();
+        volatile DeletionJob.State state = DeletionJob.State.PENDING;
+        volatile Instant startedAt;
+        volatile Instant finishedAt;
+        volatile String error;
+
+        Job(String id, Long dictatorId, String requestedBy, long total) {
+            this.id = id;
+            this.dictatorId = dictatorId;
+            this.requestedBy = requestedBy;
+            this.total = total;
+        }
+
+        DeletionJob view() {
+            return new DeletionJob(id, dictatorId, state, total, deleted.get(), startedAt, finishedAt, error);
+        }
+    }
+}
@@ -1,45 +1,351 @@
 package com.dictatorsclub.service;
 
+import com.dictatorsclub.config.CacheConfig;
+import com.dictatorsclub.dto.AchievementDto;
+import com.dictatorsclub.dto.BatchResult;
+import com.dictatorsclub.dto.CursorPage;
+import com.dictatorsclub.dto.DictatorDto;
+import com.dictatorsclub.dto.ResourceVersion;
+import com.dictatorsclub.event.AchievementsDeletedEvent;
+import com.dictatorsclub.event.DictatorChangedEvent;
 import com.dictatorsclub.model.Dictator;
+import com.dictatorsclub.repository.AchievementRepository;
+import com.dictatorsclub.repository.DictatorFieldProjections;
 import com.dictatorsclub.repository.DictatorRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 public class DictatorService {
 
     private final DictatorRepository dictatorRepository;
+    private final AchievementRepository achievementRepository;
+    private final Cache dictatorOwners;
+    private final Cache achievementOwners;
+    private final Cache dictators;
+    private final Cache dictatorsByUsername;
+    private final Cache achievementsByDictator;
+    private final Cache achievements;
+    private final Caches caches;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxPageSize;
+    private final int maxBatchSize;
 
-    public DictatorService(DictatorRepository dictatorRepository) {
+    public DictatorService(DictatorRepository dictatorRepository, AchievementRepository achievementRepository,
+                           CacheManager cacheManager, Caches caches, ApplicationEventPublisher eventPublisher,
+                           @Value("${dictators-club.pagination.max-page-size:200}") int maxPageSize,
+                           @Value("${dictators-club.batch.max-size:200}") int maxBatchSize) {
         this.dictatorRepository = dictatorRepository;
+        this.achievementRepository = achievementRepository;
+        this.caches = caches;
+        this.eventPublisher = eventPublisher;
+        this.dictatorOwners = cacheManager.getCache(CacheConfig.DICTATOR_OWNERS);
+        this.achievementOwners = cacheManager.getCache(CacheConfig.ACHIEVEMENT_OWNERS);
+        this.dictators = cacheManager.getCache(CacheConfig.DICTATORS);
+        this.dictatorsByUsername = cacheManager.getCache(CacheConfig.DICTATORS_BY_USERNAME);
+        this.achievementsByDictator = cacheManager.getCache(CacheConfig.ACHIEVEMENTS_BY_DICTATOR);
+        this.achievements = cacheManager.getCache(CacheConfig.ACHIEVEMENTS);
+        this.maxPageSize = maxPageSize;
+        this.maxBatchSize = maxBatchSize;
     }
 
+    @Transactional(readOnly = true)
     public List<Dictator> findAll() {
         return dictatorRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Dictator> findPage(String cursor, PageCursor.Sort sort, int size, boolean withAchievements) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        PageCursor after = cursor == null ? null : PageCursor.decode(cursor, sort);
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Dictator> rows = switch (sort) {
+            case ID -> dictatorRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after.id(), limit);
+            case UPDATED_AT -> after == null
+                ? dictatorRepository.findAllByOrderByUpdatedAtAscIdAsc(limit)
+                : dictatorRepository.findPageAfterUpdatedAt(after.updatedAtValue(), after.id(), limit);
+            default -> throw new IllegalArgumentException("Dictators cannot be sorted by " + sort);
+        };
+
+        List<Dictator> items = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        String next = null;
+        if (rows.size() > pageSize) {
+            Dictator last = items.get(pageSize - 1);
+            String value = sort == PageCursor.Sort.UPDATED_AT ? last.getUpdatedAt().toString() : null;
+            next = new PageCursor(sort, value, last.getId()).encode();
+        }
+        return new CursorPage<>(withAchievements ? withAchievements(items) : items, next);
+    }
+
+    // Sparse fieldsets: only the named columns are selected, and rows are never loaded as entities
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> findFieldsPage(String cursor, PageCursor.Sort sort, int size,
+                                                          String fields) {
+        if (sort == PageCursor.Sort.YEAR) {
+            throw new IllegalArgumentException("Dictators cannot be sorted by " + sort);
+        }
+        Set<String> selected = FieldPages.parse(fields, DictatorFieldProjections.DICTATOR_FIELDS);
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        PageCursor after = cursor == null ? null : PageCursor.decode(cursor, sort);
+        String sortField = FieldPages.sortField(sort);
+        List<Map<String, Object>> rows = dictatorRepository.findFieldsPage(selected, sortField,
+            FieldPages.afterValue(after), after == null ? null : after.id(), pageSize + 1);
+        return FieldPages.page(rows, pageSize, sort, sortField, selected);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> findFieldsById(Long id, String fields) {
+        Set<String> selected = FieldPages.parse(fields, DictatorFieldProjections.DICTATOR_FIELDS);
+        return dictatorRepository.findFieldsById(id, selected).stream().findFirst().orElse(null);
+    }
+
+    // Second statement of a two-query fetch plan: reload the page with achievements, keeping page order
+    private List<Dictator> withAchievements(List<Dictator> page) {
+        if (page.isEmpty()) {
+            return page;
+        }
+        List<Long> ids = page.stream().map(Dictator::getId).toList();
+        Map<Long, Dictator> loaded = new HashMap<>();
+        for (Dictator dictator : dictatorRepository.findWithAchievementsByIdIn(ids)) {
+            loaded.put(dictator.getId(), dictator);
+        }
+        return ids.stream().map(loaded::get).filter(Objects::nonNull).toList();
+    }
+
+    @Transactional(readOnly = true)
     public Dictator findById(Long id) {
         return dictatorRepository.findById(id).orElse(null);
     }
 
+    @Transactional(readOnly = true)
+    public DictatorDto findViewById(Long id, boolean withAchievements) {
+        if (!withAchievements) {
+            return caches.readThrough(dictators, id,
+                () -> dictatorRepository.findById(id).map(DictatorDto::from).orElse(null));
+        }
+        DictatorDto cached = cachedView(dictators, id);
+        List<AchievementDto> cachedAchievements = cached == null ? null : cachedAchievements(id);
+        if (cachedAchievements != null) {
+            return cached.withAchievements(cachedAchievements);
+        }
+        long since = caches.epoch();
+        return loadWithAchievements(dictatorRepository.findWithAchievementsById(id).orElse(null), since);
+    }
+
+    // Cached views are reused and every miss is resolved by a single IN query
+    @Transactional(readOnly = true)
+    public BatchResult<Long, DictatorDto> findViewsByIds(List<Long> ids) {
+        checkBatchSize(ids.size(), maxBatchSize);
+        Map<Long, DictatorDto> found = caches.readThroughAll(dictators, ids, misses -> {
+            Map<Long, DictatorDto> loaded = new HashMap<>();
+            for (Dictator dictator : dictatorRepository.findAllById(misses)) {
+                loaded.put(dictator.getId(), DictatorDto.from(dictator));
+            }
+            return loaded;
+        });
+        return BatchResult.of(ids, found);
+    }
+
+    @Transactional(readOnly = true)
+    public BatchResult<String, DictatorDto> findViewsByUsernames(List<String> usernames) {
+        checkBatchSize(usernames.size(), maxBatchSize);
+        Map<String, DictatorDto> found = caches.readThroughAll(dictatorsByUsername, usernames, misses -> {
+            Map<String, DictatorDto> loaded = new HashMap<>();
+            for (Dictator dictator : dictatorRepository.findByUsernameIn(misses)) {
+                loaded.put(dictator.getUsername(), DictatorDto.from(dictator));
+            }
+            return loaded;
+        });
+        return BatchResult.of(usernames, found);
+    }
+
+    static void checkBatchSize(int size, int maxBatchSize) {
+        if (size == 0) {
+            throw new IllegalArgumentException("At least one key is required");
+        }
+        if (size > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " keys can be requested at once");
+        }
+    }
+
+    @Transactional(readOnly = true)
     public Dictator findByUsername(String username) {
         return dictatorRepository.findByUsername(username).orElse(null);
     }
 
+    @Transactional(readOnly = true)
+    public DictatorDto findViewByUsername(String username, boolean withAchievements) {
+        if (!withAchievements) {
+            return caches.readThrough(dictatorsByUsername, username,
+                () -> dictatorRepository.findByUsername(username).map(DictatorDto::from).orElse(null));
+        }
+        DictatorDto cached = cachedView(dictatorsByUsername, username);
+        List<AchievementDto> cachedAchievements = cached == null ? null : cachedAchievements(cached.id());
+        if (cachedAchievements != null) {
+            return cached.withAchievements(cachedAchievements);
+        }
+        long since = caches.epoch();
+        return loadWithAchievements(dictatorRepository.findWithAchievementsByUsername(username).orElse(null), since);
+    }
+
+    // Answers from the view caches when possible, otherwise with timestamp-only queries
+    @Transactional(readOnly = true)
+    public ResourceVersion findVersion(Long id, boolean withAchievements) {
+        DictatorDto cached = cachedView(dictators, id);
+        ResourceVersion version = cached != null
+            ? ResourceVersion.of(cached)
+            : dictatorRepository.findVersionById(id).orElse(null);
+        if (version == null || !withAchievements) {
+            return version;
+        }
+        List<AchievementDto> cachedAchievements = cachedAchievements(id);
+        return version.combine(cachedAchievements != null
+            ? ResourceVersion.of(cachedAchievements)
+            : achievementRepository.findVersionByDictatorId(id));
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion findVersionByUsername(String username, boolean withAchievements) {
+        DictatorDto cached = cachedView(dictatorsByUsername, username);
+        if (cached != null) {
+            return findVersion(cached.id(), withAchievements);
+        }
+        ResourceVersion version = dictatorRepository.findVersionByUsername(username).orElse(null);
+        if (version == null || !withAchievements) {
+            return version;
+        }
+        return version.combine(achievementRepository.findVersionByDictatorUsername(username));
+    }
+
+    private DictatorDto cachedView(Cache cache, Object key) {
+        return cache.get(key, DictatorDto.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<AchievementDto> cachedAchievements(Long dictatorId) {
+        Cache.ValueWrapper hit = achievementsByDictator.get(dictatorId);
+        return hit == null ? null : (List<AchievementDto>) hit.get();
+    }
+
+    // A miss with achievements requested costs one entity-graph query and fills all view caches
+    private DictatorDto loadWithAchievements(Dictator dictator, long since) {
+        if (dictator == null) {
+            return null;
+        }
+        DictatorDto view = DictatorDto.from(dictator);
+        List<AchievementDto> loaded = DictatorDto.achievementsOf(dictator);
+        caches.putSince(dictators, view.id(), view, since);
+        caches.putSince(dictatorsByUsername, view.username(), view, since);
+        caches.putSince(achievementsByDictator, view.id(), loaded, since);
+        return view.withAchievements(loaded);
+    }
+
+    @Transactional(readOnly = true)
     public boolean existsByUsername(String username) {
         return dictatorRepository.existsByUsername(username);
     }
 
+    public Dictator getReference(Long id) {
+        return dictatorRepository.getReferenceById(id);
+    }
+
     public Dictator save(Dictator dictator) {
-        return dictatorRepository.save(dictator);
+        boolean created = dictator.getId() == null;
+        Dictator saved = dictatorRepository.save(dictator);
+        evictViews(saved.getId(), saved.getUsername());
+        eventPublisher.publishEvent(DictatorChangedEvent.saved(created, DictatorDto.from(saved)));
+        return saved;
+    }
+
+    // Loads and modifies the managed entity so the change is flushed as a single UPDATE
+    @Transactional
+    public Dictator update(Long id, Dictator changes) {
+        Dictator existing = dictatorRepository.findById(id).orElse(null);
+        if (existing == null) {
+            return null;
+        }
+        // Update fields but keep username and timestamps
+        existing.setName(changes.getName());
+        existing.setCountry(changes.getCountry());
+        existing.setDescription(changes.getDescription());
+        existing.setYearsInPower(changes.getYearsInPower());
+        // Flush now so @PreUpdate has set updatedAt before the change event is built
+        dictatorRepository.flush();
+        evictViews(existing.getId(), existing.getUsername());
+        eventPublisher.publishEvent(DictatorChangedEvent.saved(false, DictatorDto.from(existing)));
+        return existing;
+    }
+
+    @Transactional(readOnly = true)
+    public long count() {
+        return dictatorRepository.count();
     }
 
-    public void deleteById(Long id) {
-        dictatorRepository.deleteById(id);
+    // Children go in one statement rather than through the entity cascade, which loads and deletes them one by
+    // one. A single DELETED event stands for the dictator and every child; it carries the deleted ids for the
+    // read models, and the change feed sends it as one event
+    @Transactional
+    public boolean deleteById(Long id) {
+        String username = dictatorRepository.lockUsernameById(id).orElse(null);
+        if (username == null) {
+            return false;
+        }
+        List<Long> achievementIds = achievementRepository.deleteAllByDictatorIdReturningIds(id);
+        dictatorRepository.deleteByIdInBulk(id);
+        caches.evict(dictatorOwners, id);
+        evictViews(id, username);
+        caches.evict(achievementsByDictator, id);
+        caches.evictAll(achievementOwners, achievementIds);
+        caches.evictAll(achievements, achievementIds);
+        eventPublisher.publishEvent(DictatorChangedEvent.deleted(id, achievementIds));
+        return true;
     }
 
+    // One step of a chunked delete: removes up to chunkSize of the dictator's achievements, lowest ids first
+    @Transactional
+    public int deleteAchievementChunk(Long dictatorId, int chunkSize) {
+        List<Long> achievementIds = achievementRepository.findIdsByDictatorId(dictatorId, Limit.of(chunkSize));
+        if (achievementIds.isEmpty()) {
+            return 0;
+        }
+        achievementRepository.deleteAllByIdInBulk(achievementIds);
+        caches.evict(achievementsByDictator, dictatorId);
+        caches.evictAll(achievementOwners, achievementIds);
+        caches.evictAll(achievements, achievementIds);
+        eventPublisher.publishEvent(new AchievementsDeletedEvent(dictatorId, achievementIds));
+        return achievementIds.size();
+    }
+
+    @Transactional(readOnly = true)
+    public long countAchievements(Long dictatorId) {
+        return achievementRepository.countByDictatorId(dictatorId);
+    }
+
+    private void evictViews(Long id, String username) {
+        caches.evict(dictators, id);
+        caches.evict(dictatorsByUsername, username);
+    }
+
+    // Deliberately not read-only: ownership checks guard writes, so they always go to the primary
     public boolean isOwner(String username, Long dictatorId) {
-        Dictator dictator = findById(dictatorId);
-        return dictator != null && dictator.getUsername().equals(username);
+        return username != null && username.equals(findOwner(dictatorId));
+    }
+
+    // Owner usernames never change, so a hit is valid until the dictator is deleted
+    private String findOwner(Long dictatorId) {
+        return caches.readThrough(dictatorOwners, dictatorId,
+            () -> dictatorRepository.findUsernameById(dictatorId).orElse(null));
     }
 }
@@ -0,0 +1,78 @@
+package com.dictatorsclub.service;
+
+import com.dictatorsclub.dto.AchievementExportRow;
+import com.dictatorsclub.dto.DictatorExportRow;
+import com.dictatorsclub.model.Achievement;
+import com.dictatorsclub.model.Dictator;
+import com.dictatorsclub.repository.AchievementRepository;
+import com.dictatorsclub.repository.DictatorRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Service
+public class ExportService {
+
+    private final DictatorRepository dictatorRepository;
+    private final AchievementRepository achievementRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int clearInterval;
+
+    public ExportService(DictatorRepository dictatorRepository, AchievementRepository achievementRepository,
+                         EntityManager entityManager, ObjectMapper objectMapper,
+                         @Value("${dictators-club.export.clear-interval:1000}") int clearInterval) {
+        this.dictatorRepository = dictatorRepository;
+        this.achievementRepository = achievementRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.clearInterval = clearInterval;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportDictators(OutputStream out) throws IOException {
+        try (Stream<Dictator> rows = dictatorRepository.streamAll()) {
+            return writeNdjson(rows, DictatorExportRow::from, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportAchievements(OutputStream out) throws IOException {
+        try (Stream<Achievement> rows = achievementRepository.streamAll()) {
+            return writeNdjson(rows, AchievementExportRow::from, out);
+        }
+    }
+
+    private <E> long writeNdjson(Stream<E> rows, Function<E, ?> mapper, OutputStream out) throws IOException {
+        long written = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(mapper.apply(iterator.next()));
+                written++;
+                // Drop already written entities so the persistence context stays small
+                if (written % clearInterval == 0) {
+                    entityManager.clear();
+                    generator.flush();
+                }
+            }
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        return written;
+    }
+}
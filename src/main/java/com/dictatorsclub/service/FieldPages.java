@@ -0,0 +1,69 @@
+package com.dictatorsclub.service;
+
+import com.dictatorsclub.dto.CursorPage;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class FieldPages {
+
+    private FieldPages() {
+    }
+
+    // "id, name" -> [id, name], in the order the client listed them
+    static Set<String> parse(String fields, Set<String> known) {
+        Set<String> parsed = new LinkedHashSet<>();
+        Arrays.stream(fields.split(",")).map(String::trim).filter(field -> !field.isEmpty()).forEach(parsed::add);
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one field");
+        }
+        for (String field : parsed) {
+            if (!known.contains(field)) {
+                throw new IllegalArgumentException("Unknown field '" + field + "'");
+            }
+        }
+        return parsed;
+    }
+
+    // rows holds up to pageSize + 1 rows; the extra one only signals that another page exists
+    static CursorPage<Map<String, Object>> page(List<Map<String, Object>> rows, int pageSize, PageCursor.Sort sort,
+                                                String sortField, Set<String> fields) {
+        List<Map<String, Object>> items = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        String next = null;
+        if (rows.size() > pageSize) {
+            Map<String, Object> last = items.get(pageSize - 1);
+            Object value = last.get(sortField);
+            String cursorValue = switch (sort) {
+                case ID -> null;
+                case YEAR -> String.valueOf(value == null ? Integer.MIN_VALUE : value);
+                case UPDATED_AT -> String.valueOf(value);
+            };
+            next = new PageCursor(sort, cursorValue, (Long) last.get("id")).encode();
+        }
+        // Drop the id and sort key columns that were only selected for the cursor
+        items.forEach(row -> row.keySet().retainAll(fields));
+        return new CursorPage<>(items, next);
+    }
+
+    static Object afterValue(PageCursor after) {
+        if (after == null) {
+            return null;
+        }
+        return switch (after.sort()) {
+            case ID -> null;
+            case YEAR -> after.yearValue();
+            case UPDATED_AT -> after.updatedAtValue();
+        };
+    }
+
+    static String sortField(PageCursor.Sort sort) {
+        return switch (sort) {
+            case ID -> "id";
+            case YEAR -> "year";
+            case UPDATED_AT -> "updatedAt";
+        };
+    }
+}
@@ -0,0 +1,179 @@
+package com.dictatorsclub.service;
+
+import com.dictatorsclub.dto.DictatorDto;
+import com.dictatorsclub.dto.LeaderboardEntry;
+import com.dictatorsclub.event.AchievementChangedEvent;
+import com.dictatorsclub.event.ChangeType;
+import com.dictatorsclub.event.DictatorChangedEvent;
+import com.dictatorsclub.event.ReadModel;
+import com.dictatorsclub.event.ReadModelNotReadyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dictators ranked by achievement count, overall and per country, maintained incrementally from change
+ * events. Standings are immutable and kept in skip lists ordered by count descending then id, so a top-N
+ * read walks N entries without locking or touching the database. A change replaces the dictator's
+ * standing under its stripe lock; the new one is inserted before the old is removed, so a reader never
+ * misses a dictator, and readers skip the second sighting of an id.
+ */
+@Service
+public class LeaderboardService implements ReadModel {
+
+    private static final int STRIPES = 64;
+    // The version keeps a dictator's old and new standings distinct while both are in a set
+    private static final Comparator<Standing> RANKING = Comparator.comparingLong(Standing::achievements).reversed()
+        .thenComparing(Standing::id)
+        .thenComparing(Comparator.comparingLong(Standing::version).reversed());
+    private static final NavigableSet<Standing> EMPTY = Collections.emptyNavigableSet();
+
+    private final int maxPageSize;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final Map<Long, Standing> standings = new ConcurrentHashMap<>();
+    private final Map<Long, Long> achievementDictators = new ConcurrentHashMap<>();
+    private final NavigableSet<Standing> ranking = new ConcurrentSkipListSet<>(RANKING);
+    private final Map<String, NavigableSet<Standing>> rankingByCountry = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public LeaderboardService(@Value("${dictators-club.pagination.max-page-size:200}") int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public List<LeaderboardEntry> top(int limit, String country) {
+        if (!ready) {
+            throw new ReadModelNotReadyException("Leaderboard");
+        }
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+        NavigableSet<Standing> source = country == null ? ranking : rankingByCountry.getOrDefault(country, EMPTY);
+        List<LeaderboardEntry> entries = new ArrayList<>(size);
+        Set<Long> seen = new HashSet<>();
+        for (Standing standing : source) {
+            if (!seen.add(standing.id())) {
+                continue;
+            }
+            entries.add(new LeaderboardEntry(entries.size() + 1, standing.id(), standing.username(),
+                standing.name(), standing.country(), standing.achievements()));
+            if (entries.size() == size) {
+                break;
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public void clear() {
+        ready = false;
+        standings.clear();
+        achievementDictators.clear();
+        ranking.clear();
+        rankingByCountry.clear();
+    }
+
+    @Override
+    public void rebuilt() {
+        ready = true;
+    }
+
+    @Override
+    public void onDictatorChanged(DictatorChangedEvent event) {
+        ReentrantLock lock = stripe(event.id());
+        lock.lock();
+        try {
+            Standing previous = standings.get(event.id());
+            if (event.type() == ChangeType.DELETED) {
+                // The dispatcher has already applied the deletes of its achievements
+                if (previous != null) {
+                    standings.remove(event.id());
+                    unrank(previous);
+                }
+                return;
+            }
+            DictatorDto dictator = event.dictator();
+            replace(previous, new Standing(dictator.id(), dictator.username(), dictator.name(), dictator.country(),
+                previous == null ? 0 : previous.achievements(), previous == null ? 0 : previous.version() + 1));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onAchievementChanged(AchievementChangedEvent event) {
+        if (event.type() == ChangeType.UPDATED) {
+            return;
+        }
+        Long dictatorId = event.type() == ChangeType.DELETED
+            ? achievementDictators.get(event.id())
+            : event.achievement().dictatorId();
+        if (dictatorId == null) {
+            return;
+        }
+        ReentrantLock lock = stripe(dictatorId);
+        lock.lock();
+        try {
+            int delta;
+            if (event.type() == ChangeType.DELETED) {
+                delta = achievementDictators.remove(event.id()) == null ? 0 : -1;
+            } else {
+                delta = achievementDictators.put(event.id(), dictatorId) == null ? 1 : 0;
+            }
+            Standing previous = standings.get(dictatorId);
+            // A dictator's events are delivered before its achievements'; skip the count if that ever fails
+            if (delta != 0 && previous != null) {
+                replace(previous, previous.withAchievements(previous.achievements() + delta));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the stripe lock of current.id()
+    private void replace(Standing previous, Standing current) {
+        standings.put(current.id(), current);
+        rank(current);
+        if (previous != null) {
+            unrank(previous);
+        }
+    }
+
+    private void rank(Standing standing) {
+        ranking.add(standing);
+        if (standing.country() != null) {
+            rankingByCountry.computeIfAbsent(standing.country(), c -> new ConcurrentSkipListSet<>(RANKING))
+                .add(standing);
+        }
+    }
+
+    private void unrank(Standing standing) {
+        ranking.remove(standing);
+        if (standing.country() != null) {
+            rankingByCountry.getOrDefault(standing.country(), EMPTY).remove(standing);
+        }
+    }
+
+    private ReentrantLock stripe(Long dictatorId) {
+        return stripes[Math.floorMod(Long.hashCode(dictatorId), STRIPES)];
+    }
+
+    private record Standing(Long id, String username, String name, String country, long achievements,
+                            long version) {
+
+        Standing withAchievements(long count) {
+            return new Standing(id, username, name, country, count, version + 1);
+        }
+    }
+}
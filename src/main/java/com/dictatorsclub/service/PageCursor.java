@@ -0,0 +1,72 @@
+package com.dictatorsclub.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position: the sort key value and id of the last row a client has seen.
+ */
+public record PageCursor(Sort sort, String value, long id) {
+
+    public enum Sort {
+        ID("id"),
+        YEAR("year"),
+        UPDATED_AT("updatedAt");
+
+        private final String param;
+
+        Sort(String param) {
+            this.param = param;
+        }
+
+        public static Sort fromParam(String param) {
+            for (Sort sort : values()) {
+                if (sort.param.equals(param)) {
+                    return sort;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort '" + param + "'");
+        }
+    }
+
+    public int yearValue() {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public LocalDateTime updatedAtValue() {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = sort.name() + "|" + (value == null ? "" : value) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor, Sort expectedSort) {
+        PageCursor decoded;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            decoded = new PageCursor(Sort.valueOf(parts[0]), parts[1], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (decoded.sort() != expectedSort) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order");
+        }
+        return decoded;
+    }
+}
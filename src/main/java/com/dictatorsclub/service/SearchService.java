@@ -0,0 +1,76 @@
+package com.dictatorsclub.service;
+
+import com.dictatorsclub.dto.AchievementDto;
+import com.dictatorsclub.dto.DictatorDto;
+import com.dictatorsclub.event.AchievementChangedEvent;
+import com.dictatorsclub.event.ChangeType;
+import com.dictatorsclub.event.DictatorChangedEvent;
+import com.dictatorsclub.event.ReadModel;
+import com.dictatorsclub.event.ReadModelNotReadyException;
+import com.dictatorsclub.search.InvertedIndex;
+import com.dictatorsclub.search.SearchHit;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class SearchService implements ReadModel {
+
+    public static final String DICTATORS = "dictators";
+    public static final String ACHIEVEMENTS = "achievements";
+
+    private final InvertedIndex dictatorIndex = new InvertedIndex("dictator");
+    private final InvertedIndex achievementIndex = new InvertedIndex("achievement");
+    private volatile boolean ready;
+
+    public List<SearchHit> search(String query, String type, int limit) {
+        if (!ready) {
+            throw new ReadModelNotReadyException("Search index");
+        }
+        return switch (type) {
+            case DICTATORS -> dictatorIndex.search(query, limit);
+            case ACHIEVEMENTS -> achievementIndex.search(query, limit);
+            case "all" -> {
+                List<SearchHit> hits = new ArrayList<>(dictatorIndex.search(query, limit));
+                hits.addAll(achievementIndex.search(query, limit));
+                hits.sort((a, b) -> Double.compare(b.score(), a.score()));
+                yield hits.size() > limit ? hits.subList(0, limit) : hits;
+            }
+            default -> throw new IllegalArgumentException("Unsupported search type '" + type + "'");
+        };
+    }
+
+    @Override
+    public void clear() {
+        ready = false;
+        dictatorIndex.clear();
+        achievementIndex.clear();
+    }
+
+    @Override
+    public void rebuilt() {
+        ready = true;
+    }
+
+    @Override
+    public void onDictatorChanged(DictatorChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            dictatorIndex.remove(event.id());
+            return;
+        }
+        DictatorDto dictator = event.dictator();
+        dictatorIndex.put(dictator.id(), dictator.name(),
+            dictator.username(), dictator.name(), dictator.country(), dictator.description());
+    }
+
+    @Override
+    public void onAchievementChanged(AchievementChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            achievementIndex.remove(event.id());
+            return;
+        }
+        AchievementDto achievement = event.achievement();
+        achievementIndex.put(achievement.id(), achievement.title(), achievement.title(), achievement.description());
+    }
+}
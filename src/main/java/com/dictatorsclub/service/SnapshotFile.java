@@ -0,0 +1,85 @@
+package com.dictatorsclub.service;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot encoding. All numbers are big-endian:
+ * <pre>
+ * header      int magic, int version, long createdAtMillis
+ * dictators   long id, long createdAt, long updatedAt, str username, str name, str country,
+ *             str description, str yearsInPower
+ * achievements long id, long dictatorId, int year, long createdAt, long updatedAt, str title, str description
+ * trailer     long dictatorCount, long achievementCount, long crc32 of everything before it
+ * </pre>
+ * Strings are an int byte length (-1 for null) followed by UTF-8; timestamps are microseconds since the
+ * epoch, read as UTC; a null year is Integer.MIN_VALUE. Counts live in the trailer so the file can be
+ * written in one streaming pass.
+ */
+final class SnapshotFile {
+
+    static final int MAGIC = 0x44435331; // "DCS1"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int TRAILER_BYTES = 24;
+
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private SnapshotFile() {
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeLong(value == null ? NULL_TIMESTAMP
+            : value.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + value.getNano() / 1_000);
+    }
+
+    static LocalDateTime readTimestamp(ByteBuffer in) {
+        long micros = in.getLong();
+        return micros == NULL_TIMESTAMP ? null : EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+
+    // Checks magic, version and checksum; leaves the buffer positioned at the first dictator
+    static long[] verify(ByteBuffer file) throws IOException {
+        if (file.limit() < HEADER_BYTES + TRAILER_BYTES || file.getInt(0) != MAGIC) {
+            throw new IOException("Not a snapshot file");
+        }
+        if (file.getInt(4) != VERSION) {
+            throw new IOException("Unsupported snapshot version " + file.getInt(4));
+        }
+        int checksumAt = file.limit() - 8;
+        CRC32 crc = new CRC32();
+        crc.update(file.duplicate().position(0).limit(checksumAt));
+        if (crc.getValue() != file.getLong(checksumAt)) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+        file.position(HEADER_BYTES);
+        return new long[] {file.getLong(file.limit() - TRAILER_BYTES), file.getLong(file.limit() - 16)};
+    }
+}
@@ -0,0 +1,346 @@
+package com.dictatorsclub.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Warm restarts for the in-memory database. All dictators and achievements are dumped to a binary
+ * snapshot on a schedule and on shutdown, and an empty database is bulk-loaded from it at startup,
+ * before the web server accepts requests and before the read models are rebuilt. Both directions use
+ * plain JDBC: entities, events and caches are bypassed.
+ */
+@Service
+@ConditionalOnProperty(name = "dictators-club.snapshot.enabled", havingValue = "true")
+public class SnapshotService implements SmartInitializingSingleton, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotService.class);
+    private static final int INSERT_BATCH_SIZE = 1000;
+    // Pooled sequence optimizers hand out the allocationSize ids below each sequence value
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+
+    private static final String SELECT_DICTATORS = "select id, created_at, updated_at, username, name, country, "
+        + "description, years_in_power from dictators order by id";
+    private static final String SELECT_ACHIEVEMENTS = "select id, dictator_id, achievement_year, created_at, "
+        + "updated_at, title, description from achievements order by id";
+    private static final String INSERT_DICTATOR = "insert into dictators (id, created_at, updated_at, username, "
+        + "name, country, description, years_in_power) values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ACHIEVEMENT = "insert into achievements (id, dictator_id, achievement_year, "
+        + "created_at, updated_at, title, description) values (?, ?, ?, ?, ?, ?, ?)";
+
+    public record Result(long dictators, long achievements, long bytes, long elapsedMillis) {
+    }
+
+    private final DataSource dataSource;
+    private final Path path;
+    private final Duration interval;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+    private volatile boolean writesBlocked;
+
+    public SnapshotService(DataSource dataSource,
+                           @Value("${dictators-club.snapshot.path:./data/snapshot.bin}") Path path,
+                           @Value("${dictators-club.snapshot.interval:10m}") Duration interval) {
+        this.dataSource = dataSource;
+        this.path = path;
+        this.interval = interval;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!Files.exists(path)) {
+            log.info("No snapshot at {}, starting empty", path);
+            return;
+        }
+        try {
+            Result result = restore(path);
+            if (result != null) {
+                log.info("Restored {} dictators and {} achievements ({} bytes) from {} in {} ms",
+                    result.dictators(), result.achievements(), result.bytes(), path, result.elapsedMillis());
+            }
+        } catch (IOException | SQLException | RuntimeException e) {
+            // Starting empty is better than not starting, but the next write must not replace the only copy
+            log.error("Could not restore snapshot {}", path, e);
+            setAside();
+        }
+    }
+
+    // Until the file is out of the way, no snapshot is written over it
+    private void setAside() {
+        Path failed = path.resolveSibling(path.getFileName() + ".failed-" + System.currentTimeMillis());
+        try {
+            Files.move(path, failed);
+            log.warn("Moved the snapshot that could not be restored to {}", failed);
+        } catch (IOException e) {
+            writesBlocked = true;
+            log.error("Could not move {} aside; no snapshots will be written until it is moved and the "
+                + "service restarted", path, e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!interval.isZero()) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "snapshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::writeQuietly, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        }
+        running = true;
+    }
+
+    // Below the web server's phase, so this stops after it and no request can write after the final snapshot
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        writeQuietly();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void writeQuietly() {
+        if (writesBlocked) {
+            log.warn("Not writing snapshot {}: it could not be restored and is still in place", path);
+            return;
+        }
+        try {
+            Result result = write(path);
+            log.info("Wrote {} dictators and {} achievements ({} bytes) to {} in {} ms",
+                result.dictators(), result.achievements(), result.bytes(), path, result.elapsedMillis());
+        } catch (IOException | SQLException e) {
+            log.error("Could not write snapshot {}", path, e);
+        }
+    }
+
+    /**
+     * Writes a snapshot from one consistent read of both tables. The file is written next to the target
+     * and moved into place, so a crash mid-write leaves the previous snapshot intact.
+     */
+    public Result write(Path target) throws IOException, SQLException {
+        writeLock.lock();
+        try {
+            long started = System.nanoTime();
+            Path parent = target.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+            long[] counts = new long[2];
+            try {
+                try (OutputStream file = Files.newOutputStream(temp);
+                     Connection connection = dataSource.getConnection()) {
+                    CheckedOutputStream checked = new CheckedOutputStream(file, new CRC32());
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked, 1 << 20));
+                    connection.setReadOnly(true);
+                    connection.setAutoCommit(false);
+                    // Both tables from the same snapshot, so every achievement's dictator is in the file
+                    connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+                    try {
+                        out.writeInt(SnapshotFile.MAGIC);
+                        out.writeInt(SnapshotFile.VERSION);
+                        out.writeLong(System.currentTimeMillis());
+                        counts[0] = dumpDictators(connection, out);
+                        counts[1] = dumpAchievements(connection, out);
+                        out.writeLong(counts[0]);
+                        out.writeLong(counts[1]);
+                        out.flush();
+                        out.writeLong(checked.getChecksum().getValue());
+                        out.flush();
+                    } finally {
+                        connection.rollback();
+                    }
+                }
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    channel.force(true);
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return new Result(counts[0], counts[1], Files.size(target),
+                (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private long dumpDictators(Connection connection, DataOutputStream out) throws SQLException, IOException {
+        long rows = 0;
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(INSERT_BATCH_SIZE);
+            try (ResultSet rs = statement.executeQuery(SELECT_DICTATORS)) {
+                while (rs.next()) {
+                    out.writeLong(rs.getLong(1));
+                    SnapshotFile.writeTimestamp(out, rs.getObject(2, LocalDateTime.class));
+                    SnapshotFile.writeTimestamp(out, rs.getObject(3, LocalDateTime.class));
+                    for (int column = 4; column <= 8; column++) {
+                        SnapshotFile.writeString(out, rs.getString(column));
+                    }
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    private long dumpAchievements(Connection connection, DataOutputStream out) throws SQLException, IOException {
+        long rows = 0;
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(INSERT_BATCH_SIZE);
+            try (ResultSet rs = statement.executeQuery(SELECT_ACHIEVEMENTS)) {
+                while (rs.next()) {
+                    out.writeLong(rs.getLong(1));
+                    out.writeLong(rs.getLong(2));
+                    int year = rs.getInt(3);
+                    out.writeInt(rs.wasNull() ? Integer.MIN_VALUE : year);
+                    SnapshotFile.writeTimestamp(out, rs.getObject(4, LocalDateTime.class));
+                    SnapshotFile.writeTimestamp(out, rs.getObject(5, LocalDateTime.class));
+                    SnapshotFile.writeString(out, rs.getString(6));
+                    SnapshotFile.writeString(out, rs.getString(7));
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Loads a snapshot into empty tables in one transaction with batched inserts, reading the file
+     * through a memory mapping. Returns null without touching anything if either table has rows.
+     */
+    public Result restore(Path source) throws IOException, SQLException {
+        long started = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+             Connection connection = dataSource.getConnection()) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshots over 2 GB cannot be mapped in one piece");
+            }
+            MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            long[] counts = SnapshotFile.verify(file);
+            if (!isEmpty(connection)) {
+                log.info("Database already has data, not restoring {}", source);
+                return null;
+            }
+            connection.setAutoCommit(false);
+            try {
+                long maxDictatorId = loadDictators(connection, file, counts[0]);
+                long maxAchievementId = loadAchievements(connection, file, counts[1]);
+                restartSequence(connection, "dictators_seq", maxDictatorId);
+                restartSequence(connection, "achievements_seq", maxAchievementId);
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+            return new Result(counts[0], counts[1], channel.size(), (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private boolean isEmpty(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                 "select (select count(*) from dictators) + (select count(*) from achievements)")) {
+            return rs.next() && rs.getLong(1) == 0;
+        }
+    }
+
+    private long loadDictators(Connection connection, ByteBuffer file, long count) throws SQLException {
+        long maxId = 0;
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_DICTATOR)) {
+            for (long row = 1; row <= count; row++) {
+                long id = file.getLong();
+                maxId = Math.max(maxId, id);
+                insert.setLong(1, id);
+                insert.setObject(2, SnapshotFile.readTimestamp(file), Types.TIMESTAMP);
+                insert.setObject(3, SnapshotFile.readTimestamp(file), Types.TIMESTAMP);
+                for (int column = 4; column <= 8; column++) {
+                    insert.setString(column, SnapshotFile.readString(file));
+                }
+                insert.addBatch();
+                if (row % INSERT_BATCH_SIZE == 0 || row == count) {
+                    insert.executeBatch();
+                }
+            }
+        }
+        return maxId;
+    }
+
+    private long loadAchievements(Connection connection, ByteBuffer file, long count) throws SQLException {
+        long maxId = 0;
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_ACHIEVEMENT)) {
+            for (long row = 1; row <= count; row++) {
+                long id = file.getLong();
+                maxId = Math.max(maxId, id);
+                insert.setLong(1, id);
+                insert.setLong(2, file.getLong());
+                int year = file.getInt();
+                if (year == Integer.MIN_VALUE) {
+                    insert.setNull(3, Types.INTEGER);
+                } else {
+                    insert.setInt(3, year);
+                }
+                insert.setObject(4, SnapshotFile.readTimestamp(file), Types.TIMESTAMP);
+                insert.setObject(5, SnapshotFile.readTimestamp(file), Types.TIMESTAMP);
+                insert.setString(6, SnapshotFile.readString(file));
+                insert.setString(7, SnapshotFile.readString(file));
+                insert.addBatch();
+                if (row % INSERT_BATCH_SIZE == 0 || row == count) {
+                    insert.executeBatch();
+                }
+            }
+        }
+        return maxId;
+    }
+
+    // A full allocation block past the largest restored id, so the next block starts right after it
+    private void restartSequence(Connection connection, String sequence, long maxId) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter sequence " + sequence + " restart with "
+                + (maxId + SEQUENCE_ALLOCATION_SIZE));
+        }
+    }
+}
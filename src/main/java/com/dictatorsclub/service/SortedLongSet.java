@@ -0,0 +1,154 @@
+package com.dictatorsclub.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Sorted set of longs kept as a list of sorted primitive segments: 8 to 16 bytes per element, where a
+ * skip list spends a node, index nodes and a boxed Long. Finding an element is a binary search over the
+ * segments' first values and then within one segment; an insert or remove shifts part of one segment, and
+ * a full segment is split in two. Not thread-safe.
+ */
+final class SortedLongSet {
+
+    private static final int SEGMENT_CAPACITY = 512;
+
+    private final List<Segment> segments = new ArrayList<>();
+    private int size;
+
+    boolean add(long value) {
+        if (segments.isEmpty()) {
+            segments.add(new Segment());
+        }
+        int index = segmentFor(value);
+        Segment segment = segments.get(index);
+        int position = Arrays.binarySearch(segment.values, 0, segment.size, value);
+        if (position >= 0) {
+            return false;
+        }
+        int insertAt = -position - 1;
+        if (segment.size == SEGMENT_CAPACITY) {
+            Segment upper = segment.split();
+            segments.add(index + 1, upper);
+            if (insertAt > segment.size) {
+                segment = upper;
+                insertAt -= SEGMENT_CAPACITY / 2;
+            }
+        }
+        segment.insert(insertAt, value);
+        size++;
+        return true;
+    }
+
+    boolean remove(long value) {
+        if (segments.isEmpty()) {
+            return false;
+        }
+        int index = segmentFor(value);
+        Segment segment = segments.get(index);
+        int position = Arrays.binarySearch(segment.values, 0, segment.size, value);
+        if (position < 0) {
+            return false;
+        }
+        segment.delete(position);
+        if (segment.size == 0) {
+            segments.remove(index);
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Copies the elements from low to high inclusive, in order, stopping after limit of them; low itself
+     * is skipped unless lowInclusive.
+     */
+    long[] range(long low, boolean lowInclusive, long high, int limit) {
+        if (segments.isEmpty() || low > high) {
+            return new long[0];
+        }
+        long[] found = new long[limit];
+        int count = 0;
+        int index = segmentFor(low);
+        Segment segment = segments.get(index);
+        int position = Arrays.binarySearch(segment.values, 0, segment.size, low);
+        position = position >= 0 ? (lowInclusive ? position : position + 1) : -position - 1;
+        while (count < limit) {
+            if (position == segment.size) {
+                if (++index == segments.size()) {
+                    break;
+                }
+                segment = segments.get(index);
+                position = 0;
+            }
+            long value = segment.values[position++];
+            if (value > high) {
+                break;
+            }
+            found[count++] = value;
+        }
+        return count == limit ? found : Arrays.copyOf(found, count);
+    }
+
+    void forEach(LongConsumer action) {
+        for (Segment segment : segments) {
+            for (int i = 0; i < segment.size; i++) {
+                action.accept(segment.values[i]);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        segments.clear();
+        size = 0;
+    }
+
+    // Index of the last segment whose first value is at most value, or 0
+    private int segmentFor(long value) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (segments.get(middle).values[0] <= value) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private static final class Segment {
+        private long[] values = new long[8];
+        private int size;
+
+        void insert(int position, long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(size * 2, SEGMENT_CAPACITY));
+            }
+            System.arraycopy(values, position, values, position + 1, size - position);
+            values[position] = value;
+            size++;
+        }
+
+        void delete(int position) {
+            System.arraycopy(values, position + 1, values, position, size - position - 1);
+            size--;
+        }
+
+        // Moves the upper half into a new segment; both halves keep room to grow before the next split
+        Segment split() {
+            Segment upper = new Segment();
+            int half = size / 2;
+            upper.values = Arrays.copyOfRange(values, half, SEGMENT_CAPACITY);
+            upper.size = size - half;
+            size = half;
+            return upper;
+        }
+    }
+}
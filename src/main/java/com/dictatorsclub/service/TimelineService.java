@@ -0,0 +1,332 @@
+package com.dictatorsclub.service;
+
+import com.dictatorsclub.dto.AchievementDto;
+import com.dictatorsclub.dto.CursorPage;
+import com.dictatorsclub.event.AchievementChangedEvent;
+import com.dictatorsclub.event.ChangeType;
+import com.dictatorsclub.event.DictatorChangedEvent;
+import com.dictatorsclub.event.ReadModel;
+import com.dictatorsclub.model.Achievement;
+import com.dictatorsclub.repository.AchievementRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Achievements ordered by (year, id), globally and per dictator country, for year-range timelines.
+ * Each entry is one long: the year in the high 24 bits and the id in the low 40, so signed order is
+ * timeline order and a range is a binary search plus a copy, O(log n + k). Keys are held in primitive
+ * sorted segments and an open-addressing table, not boxed sets and maps. Achievements without a year
+ * are not on the timeline. Until the first rebuild finishes, or if a year or id does not fit the packing,
+ * queries go to the database instead.
+ */
+@Service
+public class TimelineService implements ReadModel {
+
+    private static final int ID_BITS = 40;
+    private static final long MAX_ID = (1L << ID_BITS) - 1;
+    private static final int MIN_YEAR = -(1 << 23);
+    private static final int MAX_YEAR = (1 << 23) - 1;
+
+    private final AchievementRepository achievementRepository;
+    private final AchievementService achievementService;
+    private final int maxPageSize;
+    // Writes are single events; a read holds the lock only while it copies one page of keys
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final SortedLongSet timeline = new SortedLongSet();
+    private final Map<String, SortedLongSet> timelineByCountry = new HashMap<>();
+    private final Map<Long, String> countries = new HashMap<>();
+    private final Map<Long, SortedLongSet> keysByDictator = new HashMap<>();
+    private final Entries entries = new Entries();
+    private volatile boolean ready;
+    private volatile boolean overflowed;
+
+    public TimelineService(AchievementRepository achievementRepository, AchievementService achievementService,
+                           @Value("${dictators-club.pagination.max-page-size:200}") int maxPageSize) {
+        this.achievementRepository = achievementRepository;
+        this.achievementService = achievementService;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<AchievementDto> findTimeline(int fromYear, int toYear, String country, String cursor,
+                                                   int size) {
+        if (fromYear > toYear) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        PageCursor after = cursor == null ? null : PageCursor.decode(cursor, PageCursor.Sort.YEAR);
+        boolean indexed = ready && !overflowed && (after == null || after.id() <= MAX_ID);
+        return indexed
+            ? fromIndex(fromYear, toYear, country, after, pageSize)
+            : fromRepository(fromYear, toYear, country, after, pageSize);
+    }
+
+    private CursorPage<AchievementDto> fromIndex(int fromYear, int toYear, String country, PageCursor after,
+                                                 int pageSize) {
+        long low = pack(clampYear(fromYear), 0);
+        long high = pack(clampYear(toYear), MAX_ID);
+        boolean lowInclusive = true;
+        if (after != null) {
+            long position = pack(clampYear(after.yearValue()), after.id());
+            if (position >= low) {
+                low = position;
+                lowInclusive = false;
+            }
+        }
+        if (low > high) {
+            return new CursorPage<>(List.of(), null);
+        }
+        long[] keys;
+        lock.readLock().lock();
+        try {
+            SortedLongSet set = country == null ? timeline : timelineByCountry.get(country);
+            keys = set == null ? new long[0] : set.range(low, lowInclusive, high, pageSize + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+        int count = Math.min(keys.length, pageSize);
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(keys[i] & MAX_ID);
+        }
+        // Views come from the achievement cache; rows deleted since the index was read are skipped
+        Map<Long, AchievementDto> views = achievementService.findViewMap(ids);
+        List<AchievementDto> items = ids.stream().map(views::get).filter(Objects::nonNull).toList();
+        long last = count == 0 ? 0 : keys[count - 1];
+        String next = keys.length > pageSize
+            ? new PageCursor(PageCursor.Sort.YEAR, Integer.toString((int) (last >> ID_BITS)), last & MAX_ID).encode()
+            : null;
+        return new CursorPage<>(items, next);
+    }
+
+    private CursorPage<AchievementDto> fromRepository(int fromYear, int toYear, String country, PageCursor after,
+                                                      int pageSize) {
+        int year = after == null ? fromYear : after.yearValue();
+        long id = after == null ? 0L : after.id();
+        Limit limit = Limit.of(pageSize + 1);
+        List<Achievement> rows = country == null
+            ? achievementRepository.findTimelinePage(fromYear, toYear, year, id, limit)
+            : achievementRepository.findTimelinePageByCountry(fromYear, toYear, country, year, id, limit);
+        List<Achievement> page = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        String next = null;
+        if (rows.size() > pageSize) {
+            Achievement lastRow = page.get(pageSize - 1);
+            next = new PageCursor(PageCursor.Sort.YEAR, lastRow.getYear().toString(), lastRow.getId()).encode();
+        }
+        return new CursorPage<>(page.stream().map(AchievementDto::from).toList(), next);
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            overflowed = false;
+            timeline.clear();
+            timelineByCountry.clear();
+            countries.clear();
+            keysByDictator.clear();
+            entries.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuilt() {
+        ready = true;
+    }
+
+    @Override
+    public void onDictatorChanged(DictatorChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.type() == ChangeType.DELETED) {
+                // The dispatcher has already applied the deletes of its achievements
+                countries.remove(event.id());
+                keysByDictator.remove(event.id());
+                return;
+            }
+            String country = event.dictator().country();
+            String previous = country == null ? countries.remove(event.id()) : countries.put(event.id(), country);
+            if (Objects.equals(previous, country)) {
+                return;
+            }
+            SortedLongSet keys = keysByDictator.get(event.id());
+            if (keys == null) {
+                return;
+            }
+            SortedLongSet from = previous == null ? null : timelineByCountry.get(previous);
+            if (from != null) {
+                keys.forEach(from::remove);
+            }
+            if (country != null) {
+                keys.forEach(byCountry(country)::add);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onAchievementChanged(AchievementChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            int slot = entries.slot(event.id());
+            if (slot >= 0) {
+                unindex(entries.dictatorIdAt(slot), entries.keyAt(slot));
+                entries.removeAt(slot);
+            }
+            Integer year = event.type() == ChangeType.DELETED ? null : event.achievement().year();
+            if (year == null || event.achievement().dictatorId() == null) {
+                return;
+            }
+            if (year < MIN_YEAR || year > MAX_YEAR || event.id() < 1 || event.id() > MAX_ID) {
+                overflowed = true;
+                return;
+            }
+            long dictatorId = event.achievement().dictatorId();
+            long key = pack(year, event.id());
+            entries.put(event.id(), key, dictatorId);
+            index(dictatorId, key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void index(long dictatorId, long key) {
+        timeline.add(key);
+        keysByDictator.computeIfAbsent(dictatorId, id -> new SortedLongSet()).add(key);
+        String country = countries.get(dictatorId);
+        if (country != null) {
+            byCountry(country).add(key);
+        }
+    }
+
+    // Caller holds the write lock
+    private void unindex(long dictatorId, long key) {
+        timeline.remove(key);
+        SortedLongSet keys = keysByDictator.get(dictatorId);
+        if (keys != null) {
+            keys.remove(key);
+        }
+        String country = countries.get(dictatorId);
+        SortedLongSet byCountry = country == null ? null : timelineByCountry.get(country);
+        if (byCountry != null) {
+            byCountry.remove(key);
+        }
+    }
+
+    private SortedLongSet byCountry(String country) {
+        return timelineByCountry.computeIfAbsent(country, c -> new SortedLongSet());
+    }
+
+    private static long pack(int year, long id) {
+        return (long) year << ID_BITS | id;
+    }
+
+    private static int clampYear(int year) {
+        return Math.max(MIN_YEAR, Math.min(MAX_YEAR, year));
+    }
+
+    /**
+     * Achievement id -> (timeline key, dictator id), by open addressing with linear probing over three
+     * parallel arrays; 0 marks a free slot, which is safe because ids start at 1. Removal shifts the rest
+     * of the probe run back, so lookups never need tombstones.
+     */
+    private static final class Entries {
+        private long[] ids = new long[16];
+        private long[] keys = new long[16];
+        private long[] dictatorIds = new long[16];
+        private int size;
+
+        int slot(long id) {
+            int mask = ids.length - 1;
+            for (int slot = home(id, mask); ids[slot] != 0; slot = (slot + 1) & mask) {
+                if (ids[slot] == id) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        long keyAt(int slot) {
+            return keys[slot];
+        }
+
+        long dictatorIdAt(int slot) {
+            return dictatorIds[slot];
+        }
+
+        // id must not be present
+        void put(long id, long key, long dictatorId) {
+            if ((size + 1) * 4L > ids.length * 3L) {
+                resize(ids.length * 2);
+            }
+            int mask = ids.length - 1;
+            int slot = home(id, mask);
+            while (ids[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            ids[slot] = id;
+            keys[slot] = key;
+            dictatorIds[slot] = dictatorId;
+            size++;
+        }
+
+        void removeAt(int slot) {
+            int mask = ids.length - 1;
+            int free = slot;
+            for (int next = (free + 1) & mask; ids[next] != 0; next = (next + 1) & mask) {
+                int home = home(ids[next], mask);
+                // Move the entry back unless its home lies cyclically in (free, next]
+                if (free <= next ? home <= free || home > next : home <= free && home > next) {
+                    ids[free] = ids[next];
+                    keys[free] = keys[next];
+                    dictatorIds[free] = dictatorIds[next];
+                    free = next;
+                }
+            }
+            ids[free] = 0;
+            size--;
+        }
+
+        void clear() {
+            ids = new long[16];
+            keys = new long[16];
+            dictatorIds = new long[16];
+            size = 0;
+        }
+
+        private void resize(int capacity) {
+            long[] oldIds = ids;
+            long[] oldKeys = keys;
+            long[] oldDictatorIds = dictatorIds;
+            ids = new long[capacity];
+            keys = new long[capacity];
+            dictatorIds = new long[capacity];
+            size = 0;
+            for (int i = 0; i < oldIds.length; i++) {
+                if (oldIds[i] != 0) {
+                    put(oldIds[i], oldKeys[i], oldDictatorIds[i]);
+                }
+            }
+        }
+
+        private static int home(long id, int mask) {
+            long hash = id * 0x9E3779B97F4A7C15L;
+            return (int) (hash >>> 32) & mask;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+-- Mirrors the entity mappings; ddl-auto=validate checks the two stay in step.
+-- Sequences step by 50 to match the pooled id allocation in the entities.
+CREATE SEQUENCE dictators_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE achievements_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE dictators (
+    id BIGINT NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    country VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    years_in_power VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_dictators PRIMARY KEY (id),
+    CONSTRAINT uk_dictators_username UNIQUE (username)
+);
+
+CREATE TABLE achievements (
+    id BIGINT NOT NULL,
+    dictator_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    achievement_year INTEGER,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_achievements PRIMARY KEY (id),
+    CONSTRAINT fk_achievements_dictator FOREIGN KEY (dictator_id) REFERENCES dictators (id)
+);
+
+-- findByDictatorId, findByDictatorUsername and the per-dictator version/ownership lookups
+CREATE INDEX idx_achievements_dictator_id ON achievements (dictator_id);
+-- Per-dictator listings filtered or ordered by year
+CREATE INDEX idx_achievements_dictator_year ON achievements (dictator_id, achievement_year);
+-- Keyset pages ordered by (updated_at, id) are read straight off these without sorting
+CREATE INDEX idx_achievements_updated_at ON achievements (updated_at, id);
+CREATE INDEX idx_dictators_updated_at ON dictators (updated_at, id);
@@ -0,0 +1,49 @@
+package com.dictatorsclub.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+    @Test
+    void asyncRequestKeepsItsPermitUntilItCompletes() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(2, Duration.ZERO, Duration.ofSeconds(1),
+            meterRegistry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/export/achievements");
+        request.setServletPath("/api/export/achievements");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertThat(available(meterRegistry)).isEqualTo(1);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertThat(available(meterRegistry)).isEqualTo(2);
+    }
+
+    @Test
+    void synchronousRequestReleasesItsPermitOnReturn() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(2, Duration.ZERO, Duration.ofSeconds(1),
+            meterRegistry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dictators");
+        request.setServletPath("/api/dictators");
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+            (req, res) -> assertThat(available(meterRegistry)).isEqualTo(1));
+
+        assertThat(available(meterRegistry)).isEqualTo(2);
+    }
+
+    private static double available(MeterRegistry meterRegistry) {
+        return meterRegistry.get("dictators.admission.available").gauge().value();
+    }
+}
@@ -0,0 +1,141 @@
+package com.dictatorsclub.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshingJwkSourceTest {
+
+    private static final String ISSUER = "http://issuer.test/realms/test";
+
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final AtomicReference<JWKSet> published = new AtomicReference<>();
+    private HttpServer issuer;
+    private RefreshingJwkSource jwkSource;
+
+    // Stand-in issuer serving whatever key set the test has published and counting fetches
+    @BeforeEach
+    void startIssuer() throws Exception {
+        issuer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        issuer.createContext("/certs", exchange -> {
+            fetches.incrementAndGet();
+            byte[] body = published.get().toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        issuer.start();
+    }
+
+    @AfterEach
+    void stopIssuer() {
+        if (jwkSource != null) {
+            jwkSource.close();
+        }
+        issuer.stop(0);
+    }
+
+    @Test
+    void tokensWithUnknownKeyIdsDoNotTriggerBackToBackFetches() throws Exception {
+        RSAKey key = key("k1");
+        published.set(new JWKSet(key.toPublicJWK()));
+        JwtDecoder decoder = decoder(Duration.ofSeconds(30));
+        awaitFetches(1);
+
+        RSAKey forger = key("forger");
+        for (int i = 0; i < 200; i++) {
+            String junk = token(forger, "junk-" + i);
+            assertThatThrownBy(() -> decoder.decode(junk)).isInstanceOf(JwtException.class);
+        }
+        Thread.sleep(300);
+
+        assertThat(fetches.get()).isEqualTo(1);
+        assertThat(decoder.decode(token(key)).getSubject()).isEqualTo("napoleon");
+    }
+
+    @Test
+    void rotatedKeyIsFetchedOnceTheMinimumIntervalHasPassed() throws Exception {
+        published.set(new JWKSet(key("k1").toPublicJWK()));
+        JwtDecoder decoder = decoder(Duration.ofMillis(200));
+        awaitFetches(1);
+        RSAKey rotated = key("k2");
+        published.set(new JWKSet(rotated.toPublicJWK()));
+        String token = token(rotated);
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String subject = null;
+        while (subject == null && System.nanoTime() < deadline) {
+            try {
+                subject = decoder.decode(token).getSubject();
+            } catch (JwtException e) {
+                Thread.sleep(20);
+            }
+        }
+
+        assertThat(subject).isEqualTo("napoleon");
+        assertThat(fetches.get()).isEqualTo(2);
+    }
+
+    private JwtDecoder decoder(Duration minRefreshInterval) throws Exception {
+        URL certs = new URL("http://localhost:" + issuer.getAddress().getPort() + "/certs");
+        jwkSource = new RefreshingJwkSource(certs, Duration.ofHours(1), minRefreshInterval);
+        jwkSource.start();
+        return new JwtConfig().jwtDecoder(jwkSource, ISSUER, 100, new SimpleMeterRegistry());
+    }
+
+    private void awaitFetches(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (fetches.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        // Let the fetched set be installed
+        Thread.sleep(50);
+    }
+
+    private static RSAKey key(String keyId) throws JOSEException {
+        return new RSAKeyGenerator(2048).keyID(keyId).generate();
+    }
+
+    private static String token(RSAKey key) throws JOSEException {
+        return token(key, key.getKeyID());
+    }
+
+    private static String token(RSAKey key, String keyId) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .issuer(ISSUER)
+            .subject("napoleon")
+            .issueTime(Date.from(now))
+            .expirationTime(Date.from(now.plusSeconds(300)))
+            .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(keyId).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,156 @@
+package com.dictatorsclub.event;
+
+import com.dictatorsclub.dto.AchievementDto;
+import com.dictatorsclub.dto.DictatorDto;
+import com.dictatorsclub.model.Achievement;
+import com.dictatorsclub.model.Dictator;
+import com.dictatorsclub.repository.AchievementRepository;
+import com.dictatorsclub.repository.DictatorRepository;
+import com.dictatorsclub.search.SearchHit;
+import com.dictatorsclub.service.AchievementStatsService;
+import com.dictatorsclub.service.LeaderboardService;
+import com.dictatorsclub.service.SearchService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadModelDispatcherTest {
+
+    @Test
+    void deleteCommittedDuringReplayIsNotUndoneByTheStream() {
+        Dictator dictator = new Dictator("napoleon", "Napoleon Bonaparte", "France", null, null);
+        dictator.setId(1L);
+        Achievement first = achievement(10L, dictator);
+        Achievement second = achievement(11L, dictator);
+
+        DictatorRepository dictatorRepository = mock(DictatorRepository.class);
+        AchievementRepository achievementRepository = mock(AchievementRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        LeaderboardService leaderboard = new LeaderboardService(200);
+        ReadModelDispatcher dispatcher = new ReadModelDispatcher(List.of(leaderboard), dictatorRepository,
+            achievementRepository, mock(EntityManager.class), new TransactionTemplate(transactionManager));
+
+        when(dictatorRepository.streamAll()).thenAnswer(invocation -> Stream.of(dictator));
+        // The second achievement is deleted and its event delivered after the stream has already read it
+        when(achievementRepository.streamAll()).thenAnswer(invocation -> Stream.of(first, second)
+            .peek(row -> {
+                if (row == first) {
+                    dispatcher.dispatch(AchievementChangedEvent.deleted(second.getId()));
+                }
+            }));
+
+        dispatcher.start();
+
+        assertThat(leaderboard.top(10, null))
+            .singleElement()
+            .satisfies(entry -> assertThat(entry.achievements()).isEqualTo(1));
+    }
+
+    @Test
+    void batchDeletesReachReadModelsAsOneDeletePerAchievement() {
+        List<Object> seen = new ArrayList<>();
+        ReadModel recorder = new ReadModel() {
+            @Override
+            public void clear() {
+            }
+
+            @Override
+            public void onDictatorChanged(DictatorChangedEvent event) {
+                seen.add(event.type() + " dictator " + event.id());
+            }
+
+            @Override
+            public void onAchievementChanged(AchievementChangedEvent event) {
+                seen.add(event.type() + " achievement " + event.id());
+            }
+        };
+        ReadModelDispatcher dispatcher = new ReadModelDispatcher(List.of(recorder), mock(DictatorRepository.class),
+            mock(AchievementRepository.class), mock(EntityManager.class),
+            new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+        dispatcher.dispatch(new AchievementsDeletedEvent(2L, List.of(20L, 21L)));
+        dispatcher.dispatch(DictatorChangedEvent.deleted(1L, List.of(10L, 11L)));
+
+        assertThat(seen).containsExactly("DELETED achievement 20", "DELETED achievement 21",
+            "DELETED achievement 10", "DELETED achievement 11", "DELETED dictator 1");
+    }
+
+    @Test
+    void saveDeliveredAfterANewerOneIsDropped() {
+        LocalDateTime created = LocalDateTime.of(2026, 1, 1, 12, 0);
+        LocalDateTime updated = created.plusSeconds(1);
+        SearchService search = new SearchService();
+        AchievementStatsService stats = new AchievementStatsService();
+        DictatorRepository dictatorRepository = mock(DictatorRepository.class);
+        AchievementRepository achievementRepository = mock(AchievementRepository.class);
+        when(dictatorRepository.streamAll()).thenAnswer(invocation -> Stream.empty());
+        when(achievementRepository.streamAll()).thenAnswer(invocation -> Stream.empty());
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ReadModelDispatcher dispatcher = new ReadModelDispatcher(List.of(search, stats), dictatorRepository,
+            achievementRepository, mock(EntityManager.class), new TransactionTemplate(transactionManager));
+        dispatcher.start();
+
+        // Two commits of the same rows whose events are delivered newest first
+        dispatcher.dispatch(DictatorChangedEvent.saved(false, dictator("Emperor", "France", updated)));
+        dispatcher.dispatch(DictatorChangedEvent.saved(false, dictator("Consul", "Corsica", created)));
+        dispatcher.dispatch(AchievementChangedEvent.saved(false, achievement("Coronation", 1804, updated)));
+        dispatcher.dispatch(AchievementChangedEvent.saved(false, achievement("Brumaire", 1799, created)));
+
+        assertThat(search.search("emperor", SearchService.DICTATORS, 10)).extracting(SearchHit::id).containsExactly(1L);
+        assertThat(search.search("consul", SearchService.DICTATORS, 10)).isEmpty();
+        assertThat(search.search("coronation", SearchService.ACHIEVEMENTS, 10)).hasSize(1);
+        assertThat(search.search("brumaire", SearchService.ACHIEVEMENTS, 10)).isEmpty();
+        assertThat(stats.countByCountry()).isEqualTo(Map.of("France", 1L));
+        assertThat(stats.countByYear(1)).isEqualTo(Map.of(1804, 1L));
+
+        // A save that committed before the delete but arrives after it does not bring the row back
+        dispatcher.dispatch(DictatorChangedEvent.deleted(1L, List.of(10L)));
+        dispatcher.dispatch(AchievementChangedEvent.saved(false, achievement("Coronation", 1804, updated)));
+        dispatcher.dispatch(DictatorChangedEvent.saved(false, dictator("Emperor", "France", updated)));
+
+        assertThat(search.search("emperor", SearchService.DICTATORS, 10)).isEmpty();
+        assertThat(search.search("coronation", SearchService.ACHIEVEMENTS, 10)).isEmpty();
+        assertThat(stats.countByYear(1)).isEmpty();
+    }
+
+    @Test
+    void readModelsRefuseQueriesUntilRebuilt() {
+        LeaderboardService leaderboard = new LeaderboardService(200);
+
+        assertThatThrownBy(() -> leaderboard.top(10, null)).isInstanceOf(ReadModelNotReadyException.class);
+        leaderboard.rebuilt();
+        assertThat(leaderboard.top(10, null)).isEmpty();
+        leaderboard.clear();
+        assertThatThrownBy(() -> leaderboard.top(10, null)).isInstanceOf(ReadModelNotReadyException.class);
+    }
+
+    private static Achievement achievement(Long id, Dictator dictator) {
+        Achievement achievement = new Achievement("Achievement " + id, null, 1800, dictator);
+        achievement.setId(id);
+        return achievement;
+    }
+
+    private static DictatorDto dictator(String name, String country, LocalDateTime updatedAt) {
+        return new DictatorDto(1L, "napoleon", name, country, null, null, null, updatedAt, null);
+    }
+
+    private static AchievementDto achievement(String title, int year, LocalDateTime updatedAt) {
+        return new AchievementDto(10L, 1L, title, null, year, null, updatedAt);
+    }
+}
@@ -0,0 +1,47 @@
+package com.dictatorsclub.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    @Test
+    void prefixMatchingManyTermsReachesEveryDocument() {
+        InvertedIndex index = new InvertedIndex("achievement");
+        for (int i = 0; i < 500; i++) {
+            index.put(i, "doc " + i, String.format("reform%03d", i));
+        }
+
+        List<SearchHit> hits = index.search("ref", 1000);
+
+        assertThat(hits).hasSize(500);
+        assertThat(hits).extracting(SearchHit::id).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void topKComesFromTheWholePrefixExpansion() {
+        InvertedIndex index = new InvertedIndex("achievement");
+        for (int i = 0; i < 200; i++) {
+            index.put(i, "doc " + i, String.format("aqueduct%03d", i));
+        }
+        // Sorts last among the expansions, but repeats the term so it scores highest
+        index.put(999, "best", "aqueductzzz aqueductzzz aqueductzzz");
+
+        assertThat(index.search("aque", 1)).extracting(SearchHit::id).containsExactly(999L);
+    }
+
+    @Test
+    void everyTermMustMatchAndADocumentIsCountedOnce() {
+        InvertedIndex index = new InvertedIndex("dictator");
+        index.put(1, "one", "roman emperor", "rome romulus");
+        index.put(2, "two", "roman senator");
+        index.put(3, "three", "french emperor");
+
+        assertThat(index.search("emperor ro", 10)).extracting(SearchHit::id).containsExactly(1L);
+        assertThat(index.search("roman", 10)).extracting(SearchHit::id).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("senator emperor", 10)).isEmpty();
+    }
+}
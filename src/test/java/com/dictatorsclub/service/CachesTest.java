@@ -0,0 +1,68 @@
+package com.dictatorsclub.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachesTest {
+
+    private final Caches caches = new Caches(Duration.ZERO);
+
+    @Test
+    void loadThatRacesAnEvictionIsNotCached() {
+        Cache cache = new ConcurrentMapCache("views");
+        String value = caches.readThrough(cache, 1L, () -> {
+            // The writer commits and evicts while the reader still holds the old row
+            caches.evict(cache, 1L);
+            return "stale";
+        });
+
+        assertThat(value).isEqualTo("stale");
+        assertThat(cache.get(1L)).isNull();
+        assertThat(caches.readThrough(cache, 1L, () -> "fresh")).isEqualTo("fresh");
+        assertThat(cache.get(1L).get()).isEqualTo("fresh");
+    }
+
+    @Test
+    void batchLoadDropsOnlyTheKeysEvictedWhileLoading() {
+        Cache cache = new ConcurrentMapCache("views");
+        Map<Long, String> found = caches.readThroughAll(cache, List.of(1L, 2L), misses -> {
+            caches.evict(cache, 2L);
+            return Map.of(1L, "one", 2L, "stale");
+        });
+
+        assertThat(found).containsEntry(1L, "one").containsEntry(2L, "stale");
+        assertThat(cache.get(1L).get()).isEqualTo("one");
+        assertThat(cache.get(2L)).isNull();
+    }
+
+    @Test
+    void putSinceDropsTheValueAfterAnyEviction() {
+        Cache cache = new ConcurrentMapCache("views");
+        Cache other = new ConcurrentMapCache("others");
+        long since = caches.epoch();
+        caches.evict(other, "someone-else");
+        caches.putSince(cache, 1L, "stale", since);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void replicaLagBelongsToTheInstance() {
+        Caches withReplicas = new Caches(Duration.ofMinutes(1));
+        Cache cache = new ConcurrentMapCache("views");
+        withReplicas.evict(cache, 1L);
+        caches.evict(cache, 1L);
+
+        assertThat(withReplicas.readThrough(cache, 1L, () -> "maybe-stale")).isEqualTo("maybe-stale");
+        assertThat(cache.get(1L)).isNull();
+        assertThat(caches.readThrough(cache, 1L, () -> "fresh")).isEqualTo("fresh");
+        assertThat(cache.get(1L).get()).isEqualTo("fresh");
+    }
+}
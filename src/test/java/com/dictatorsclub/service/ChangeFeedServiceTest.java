@@ -0,0 +1,69 @@
+package com.dictatorsclub.service;
+
+import com.dictatorsclub.controller.ChangeFeedController;
+import com.dictatorsclub.event.DictatorChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class ChangeFeedServiceTest {
+
+    private static final int SUBSCRIBERS = 5;
+
+    private final ChangeFeedService changeFeed = new ChangeFeedService(100, 100, Duration.ofHours(1),
+        Duration.ofHours(1), new SimpleMeterRegistry());
+
+    @AfterEach
+    void shutdown() {
+        changeFeed.shutdown();
+    }
+
+    @Test
+    void everySubscriberReceivesExactlyTheSameBytes() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ChangeFeedController(changeFeed)).build();
+        List<MockHttpServletResponse> responses = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            responses.add(mockMvc.perform(get("/api/changes")).andReturn().getResponse());
+        }
+
+        changeFeed.onDictatorChanged(DictatorChangedEvent.deleted(7L, List.of()));
+        changeFeed.onDictatorChanged(DictatorChangedEvent.deleted(8L, List.of()));
+
+        String first = awaitContent(responses.get(0));
+        Matcher epoch = Pattern.compile("^id:([0-9a-z]+)-1\n").matcher(first);
+        assertThat(epoch.find()).isTrue();
+        String expected = event(epoch.group(1), 1, 7) + event(epoch.group(1), 2, 8);
+        for (MockHttpServletResponse response : responses) {
+            assertThat(awaitContent(response)).isEqualTo(expected);
+        }
+    }
+
+    private static String event(String epoch, long sequence, long id) {
+        return "id:" + epoch + "-" + sequence + "\nevent:dictator\ndata:{\"sequence\":" + sequence
+            + ",\"entity\":\"dictator\",\"type\":\"DELETED\",\"id\":" + id + ",\"data\":null}\n\n";
+    }
+
+    // Sends run on the feed's sender threads; waits until both events have been written
+    private static String awaitContent(MockHttpServletResponse response) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String content = response.getContentAsString();
+        while (content.split("\n\n", -1).length <= 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = response.getContentAsString();
+        }
+        Thread.sleep(50);
+        return response.getContentAsString();
+    }
+}
@@ -0,0 +1,168 @@
+package com.dictatorsclub.service;
+
+import com.dictatorsclub.dto.AchievementDto;
+import com.dictatorsclub.dto.DictatorDto;
+import com.dictatorsclub.dto.LeaderboardEntry;
+import com.dictatorsclub.event.AchievementChangedEvent;
+import com.dictatorsclub.event.DictatorChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardServiceTest {
+
+    private static final int DICTATORS = 40;
+    private static final int COUNTRIES = 3;
+    private static final int WRITERS = 6;
+    private static final int READERS = 2;
+    private static final int OPERATIONS_PER_WRITER = 20_000;
+
+    @Test
+    void concurrentWritesKeepCountsExactAndReadsConsistent() throws Exception {
+        LeaderboardService leaderboard = new LeaderboardService(200);
+        for (long id = 1; id <= DICTATORS; id++) {
+            leaderboard.onDictatorChanged(DictatorChangedEvent.saved(true, dictator(id, 0)));
+        }
+        leaderboard.rebuilt();
+
+        AtomicLong achievementIds = new AtomicLong();
+        // achievement id -> dictator id for every achievement that was saved and not deleted
+        Map<Long, Long> kept = new ConcurrentHashMap<>();
+        // Last country written per dictator; writers for a dictator hold its monitor so this matches the events
+        String[] countries = new String[DICTATORS + 1];
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<String> readProblems = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            writers.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                List<Long> mine = new ArrayList<>();
+                for (int i = 0; i < OPERATIONS_PER_WRITER; i++) {
+                    long dictatorId = 1 + random.nextInt(DICTATORS);
+                    int operation = random.nextInt(10);
+                    if (operation < 6 || mine.isEmpty()) {
+                        long id = achievementIds.incrementAndGet();
+                        kept.put(id, dictatorId);
+                        leaderboard.onAchievementChanged(AchievementChangedEvent.saved(true, achievement(id, dictatorId)));
+                        mine.add(id);
+                    } else if (operation < 9) {
+                        long id = mine.remove(random.nextInt(mine.size()));
+                        kept.remove(id);
+                        leaderboard.onAchievementChanged(AchievementChangedEvent.deleted(id));
+                    } else {
+                        synchronized (countries) {
+                            DictatorDto moved = dictator(dictatorId, random.nextInt(COUNTRIES));
+                            countries[(int) dictatorId] = moved.country();
+                            leaderboard.onDictatorChanged(DictatorChangedEvent.saved(false, moved));
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+
+        List<Future<Long>> readers = new ArrayList<>();
+        for (int r = 0; r < READERS; r++) {
+            readers.add(executor.submit(() -> {
+                start.await();
+                long reads = 0;
+                while (writing.get()) {
+                    String country = reads % 2 == 0 ? null : "Country " + (reads % COUNTRIES);
+                    String problem = check(leaderboard.top(DICTATORS, country));
+                    if (problem != null) {
+                        synchronized (readProblems) {
+                            readProblems.add(problem);
+                        }
+                    }
+                    reads++;
+                }
+                return reads;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(2, TimeUnit.MINUTES);
+        }
+        writing.set(false);
+        long reads = 0;
+        for (Future<Long> reader : readers) {
+            reads += reader.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertThat(reads).isPositive();
+        assertThat(readProblems).isEmpty();
+
+        Map<Long, Long> recount = new HashMap<>();
+        kept.values().forEach(dictatorId -> recount.merge(dictatorId, 1L, Long::sum));
+        List<LeaderboardEntry> board = leaderboard.top(DICTATORS, null);
+        assertThat(check(board)).isNull();
+        assertThat(board).hasSize(DICTATORS);
+        for (LeaderboardEntry entry : board) {
+            assertThat(entry.achievements()).as("dictator %d", entry.dictatorId())
+                .isEqualTo(recount.getOrDefault(entry.dictatorId(), 0L));
+            String country = countries[entry.dictatorId().intValue()];
+            assertThat(entry.country()).isEqualTo(country == null ? "Country 0" : country);
+        }
+
+        int perCountry = 0;
+        for (int c = 0; c < COUNTRIES; c++) {
+            String country = "Country " + c;
+            List<LeaderboardEntry> countryBoard = leaderboard.top(DICTATORS, country);
+            assertThat(check(countryBoard)).isNull();
+            assertThat(countryBoard).allMatch(entry -> entry.country().equals(country));
+            perCountry += countryBoard.size();
+        }
+        assertThat(perCountry).isEqualTo(DICTATORS);
+    }
+
+    // Ranks run 1..n without gaps, each dictator appears once, and counts never increase down the board
+    private static String check(List<LeaderboardEntry> entries) {
+        Set<Long> ids = new HashSet<>();
+        long previousCount = Long.MAX_VALUE;
+        for (int i = 0; i < entries.size(); i++) {
+            LeaderboardEntry entry = entries.get(i);
+            if (entry.rank() != i + 1) {
+                return "rank " + entry.rank() + " at position " + (i + 1);
+            }
+            if (!ids.add(entry.dictatorId())) {
+                return "dictator " + entry.dictatorId() + " listed twice";
+            }
+            if (entry.achievements() > previousCount) {
+                return "count " + entry.achievements() + " ranked below " + previousCount;
+            }
+            previousCount = entry.achievements();
+        }
+        return null;
+    }
+
+    private static DictatorDto dictator(long id, int country) {
+        return new DictatorDto(id, "dictator" + id, "Dictator " + id, "Country " + country, null, null, null, null,
+            null);
+    }
+
+    private static AchievementDto achievement(long id, long dictatorId) {
+        return new AchievementDto(id, dictatorId, "Achievement " + id, null, 1900, null, null);
+    }
+}
@@ -0,0 +1,40 @@
+package com.dictatorsclub.service;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnapshotServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void snapshotThatCannotBeRestoredIsMovedAsideBeforeTheNextWrite() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:snapshot-test;DB_CLOSE_DELAY=-1");
+        Path path = directory.resolve("snapshot.bin");
+        byte[] corrupt = "not a snapshot".getBytes();
+        Files.write(path, corrupt);
+
+        SnapshotService snapshots = new SnapshotService(dataSource, path, Duration.ZERO);
+        snapshots.afterSingletonsInstantiated();
+
+        assertThat(path).doesNotExist();
+        List<Path> failed;
+        try (Stream<Path> files = Files.list(directory)) {
+            failed = files.filter(file -> file.getFileName().toString().startsWith("snapshot.bin.failed-"))
+                .toList();
+        }
+        assertThat(failed).hasSize(1);
+        assertThat(Files.readAllBytes(failed.get(0))).isEqualTo(corrupt);
+    }
+}
@@ -0,0 +1,42 @@
+package com.dictatorsclub.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SortedLongSetTest {
+
+    @Test
+    void matchesTreeSetUnderRandomAddsRemovesAndRanges() {
+        Random random = new Random(42);
+        SortedLongSet set = new SortedLongSet();
+        TreeSet<Long> expected = new TreeSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            // Negative values too, and a range small enough that removes often hit
+            long value = random.nextInt(20_000) - 10_000L;
+            if (random.nextInt(3) == 0) {
+                assertThat(set.remove(value)).isEqualTo(expected.remove(value));
+            } else {
+                assertThat(set.add(value)).isEqualTo(expected.add(value));
+            }
+            if (i % 1000 == 0) {
+                long low = random.nextInt(20_000) - 10_000L;
+                long high = low + random.nextInt(2_000);
+                boolean lowInclusive = random.nextBoolean();
+                int limit = 1 + random.nextInt(300);
+                assertThat(set.range(low, lowInclusive, high, limit))
+                    .containsExactly(expected.subSet(low, lowInclusive, high, true).stream()
+                        .limit(limit).mapToLong(Long::longValue).toArray());
+            }
+        }
+        assertThat(set.size()).isEqualTo(expected.size());
+        List<Long> all = new ArrayList<>();
+        set.forEach(all::add);
+        assertThat(all).containsExactlyElementsOf(expected);
+    }
+}
@@ -0,0 +1,96 @@
+package com.dictatorsclub.service;
+
+import com.dictatorsclub.dto.AchievementDto;
+import com.dictatorsclub.dto.CursorPage;
+import com.dictatorsclub.dto.DictatorDto;
+import com.dictatorsclub.event.AchievementChangedEvent;
+import com.dictatorsclub.event.DictatorChangedEvent;
+import com.dictatorsclub.repository.AchievementRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TimelineServiceTest {
+
+    private static final int DICTATORS = 20;
+    private static final int COUNTRIES = 3;
+
+    @Test
+    void pagesMatchTheLiveAchievementsAfterRandomChanges() {
+        Random random = new Random(7);
+        Map<Long, AchievementDto> live = new HashMap<>();
+        Map<Long, String> countries = new HashMap<>();
+        AchievementService achievementService = mock(AchievementService.class);
+        when(achievementService.findViewMap(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(live::containsKey).collect(Collectors.toMap(Function.identity(), live::get));
+        });
+        TimelineService timeline = new TimelineService(mock(AchievementRepository.class), achievementService, 50);
+        for (long id = 1; id <= DICTATORS; id++) {
+            countries.put(id, "Country " + id % COUNTRIES);
+            timeline.onDictatorChanged(DictatorChangedEvent.saved(true, dictator(id, countries.get(id))));
+        }
+        timeline.rebuilt();
+
+        for (int i = 0; i < 50_000; i++) {
+            int operation = random.nextInt(10);
+            long id = 1 + random.nextInt(5_000);
+            if (operation < 6) {
+                long dictatorId = 1 + random.nextInt(DICTATORS);
+                AchievementDto achievement = new AchievementDto(id, dictatorId, "Achievement " + id, null,
+                    random.nextInt(10) == 0 ? null : random.nextInt(400) - 200, null, null);
+                timeline.onAchievementChanged(AchievementChangedEvent.saved(!live.containsKey(id), achievement));
+                live.put(id, achievement);
+            } else if (operation < 9) {
+                timeline.onAchievementChanged(AchievementChangedEvent.deleted(id));
+                live.remove(id);
+            } else {
+                long dictatorId = 1 + random.nextInt(DICTATORS);
+                countries.put(dictatorId, "Country " + random.nextInt(COUNTRIES));
+                timeline.onDictatorChanged(DictatorChangedEvent.saved(false,
+                    dictator(dictatorId, countries.get(dictatorId))));
+            }
+        }
+
+        Comparator<AchievementDto> order = Comparator.comparing(AchievementDto::year)
+            .thenComparing(AchievementDto::id);
+        List<AchievementDto> all = live.values().stream()
+            .filter(achievement -> achievement.year() != null && achievement.year() >= -100
+                && achievement.year() <= 100)
+            .sorted(order).toList();
+        assertThat(readAll(timeline, null)).containsExactlyElementsOf(all);
+        for (int country = 0; country < COUNTRIES; country++) {
+            String name = "Country " + country;
+            assertThat(readAll(timeline, name)).containsExactlyElementsOf(all.stream()
+                .filter(achievement -> name.equals(countries.get(achievement.dictatorId()))).toList());
+        }
+    }
+
+    private static List<AchievementDto> readAll(TimelineService timeline, String country) {
+        List<AchievementDto> items = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<AchievementDto> page = timeline.findTimeline(-100, 100, country, cursor, 50);
+            items.addAll(page.items());
+            cursor = page.next();
+        } while (cursor != null);
+        return items;
+    }
+
+    private static DictatorDto dictator(long id, String country) {
+        return new DictatorDto(id, "dictator" + id, "Dictator " + id, country, null, null, null, null, null);
+    }
+}